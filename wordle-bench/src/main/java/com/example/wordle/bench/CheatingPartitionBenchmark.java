@@ -0,0 +1,56 @@
+package com.example.wordle.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.WordleGame;
+
+/**
+ * first cheating-host guess against the full dictionary, i.e. the
+ * largest partition a game performs, sequential and parallel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheatingPartitionBenchmark {
+
+    @Param({"1000", "13000", "100000"})
+    public int size;
+
+    @Param({"sequential", "parallel"})
+    public String scoring;
+
+    private Dictionary dictionary;
+    private WordleGame prototype;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(size);
+        int threshold = "parallel".equals(scoring) ? 1 : Integer.MAX_VALUE;
+        prototype = new CheatingWordleGame(6, dictionary, null, ForkJoinPool.commonPool(), threshold);
+    }
+
+    @Benchmark
+    public boolean firstGuess() {
+        next = (next + 7919) % size;
+        return prototype.newGame().guess(dictionary.getWord(next));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.wordle.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.DictionaryLoader;
+
+/**
+ * loading a word file: the byte parser on a mapped or gzip file, against
+ * reading every line into a String and building the dictionary from them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DictionaryLoadBenchmark {
+
+    @Param({"13000", "500000"})
+    public int size;
+
+    private Path dir;
+    private Path plain;
+    private Path gzip;
+
+    @Setup
+    public void write() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String word : SyntheticWords.generate(size, size)) {
+            text.append(word).append('\n');
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        dir = Files.createTempDirectory("dictionary-bench");
+        plain = dir.resolve("words.txt");
+        Files.write(plain, bytes);
+        gzip = dir.resolve("words.txt.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(bytes);
+        }
+    }
+
+    @TearDown
+    public void delete() throws IOException {
+        Files.delete(plain);
+        Files.delete(gzip);
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public Dictionary lines() throws IOException {
+        return Dictionary.of("lines", Files.readAllLines(plain));
+    }
+
+    @Benchmark
+    public Dictionary mapped() throws IOException {
+        return DictionaryLoader.load(DictionaryLoader.FILE_PREFIX + plain);
+    }
+
+    @Benchmark
+    public Dictionary gzip() throws IOException {
+        return DictionaryLoader.load(DictionaryLoader.FILE_PREFIX + gzip);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.wordle.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.WordleScorer;
+
+/**
+ * feedback table: startup build time, and the per-guess cost of scoring
+ * one guess against every word by lookup versus on the fly.
+ * Memory footprint is size^2 bytes (see FeedbackTable#getSizeBytes).
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FeedbackTableBenchmark {
+
+    @Param({"2000", "13000"})
+    public int size;
+
+    private Dictionary dictionary;
+    private FeedbackTable table;
+    private int guessId;
+
+    @Setup
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(size);
+        table = FeedbackTable.build(dictionary);
+    }
+
+    private int nextGuess() {
+        guessId = (guessId + 7919) % size;
+        return guessId;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public FeedbackTable build() {
+        return FeedbackTable.build(dictionary);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int guessRowLookup() {
+        int g = nextGuess();
+        int sum = 0;
+        for (int a = 0; a < size; a++) {
+            sum += table.pattern(g, a);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int guessRowScored() {
+        int guess = dictionary.getPacked(nextGuess());
+        int sum = 0;
+        for (int a = 0; a < size; a++) {
+            sum += WordleScorer.scorePacked(guess, dictionary.getPacked(a));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.wordle.bench;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.DictionaryVersion;
+import com.example.wordle.server.GameMetrics;
+import com.example.wordle.server.GameService;
+import com.example.wordle.server.InMemorySessionStore;
+
+/**
+ * GameService.createGame / joinGame. The service keeps every game, so each
+ * iteration starts from a fresh service and runs a fixed batch of calls;
+ * scores are per batch of BATCH operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = GameServiceBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = GameServiceBenchmark.BATCH)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    static final int BATCH = 10_000;
+
+    @Param({"1000", "13000"})
+    public int size;
+
+    @Param({"normal", "cheat"})
+    public String mode;
+
+    private GameMetrics metrics;
+    private WordleGame prototype;
+    private GameService service;
+    private UUID gameId;
+
+    @Setup
+    public void setUp() {
+        Dictionary dictionary = SyntheticWords.dictionary(size);
+        metrics = new GameMetrics(new SimpleMeterRegistry());
+        prototype = "cheat".equals(mode)
+            ? new CheatingWordleGame(6, dictionary, null, ForkJoinPool.commonPool(),
+                CheatingWordleGame.DEFAULT_PARALLEL_THRESHOLD, metrics)
+            : new WordleGame(6, dictionary);
+    }
+
+    @Setup(Level.Iteration)
+    public void freshService() {
+        // caps above the batch size so no call is rejected
+        InMemorySessionStore games = new InMemorySessionStore(Duration.ofHours(1), Duration.ofHours(1), 2 * BATCH, 2 * BATCH);
+        DictionaryVersion version = new DictionaryVersion(1, prototype, new Solver(prototype.getDictionary()));
+        service = new GameService(new DictionaryRegistry(version), games, metrics);
+        gameId = service.createGame();
+    }
+
+    @Benchmark
+    public UUID createGame() {
+        return service.createGame();
+    }
+
+    @Benchmark
+    public UUID joinGame() {
+        return service.joinGame(gameId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.wordle.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.WordleGame;
+
+/**
+ * normal-mode WordleGame.guess, dominated by validation and scoring;
+ * each op creates a game from the prototype and makes one guess
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuessBenchmark {
+
+    @Param({"1000", "13000", "100000"})
+    public int size;
+
+    private Dictionary dictionary;
+    private WordleGame prototype;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(size);
+        prototype = new WordleGame(6, dictionary);
+    }
+
+    @Benchmark
+    public boolean newGameAndGuess() {
+        next = (next + 7919) % size;
+        return prototype.newGame().guess(dictionary.getWord(next));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.wordle.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.DictionaryVersion;
+import com.example.wordle.server.GameMetrics;
+import com.example.wordle.server.GameService;
+import com.example.wordle.server.InMemorySessionStore;
+import com.example.wordle.server.JournalSessionStore;
+import com.example.wordle.server.SessionStore;
+import com.example.wordle.server.dto.SessionStats;
+
+/**
+ * Cost of journaling sessions: per-guess latency through GameService with
+ * the in-memory vs the journal store, and the time to restore a journal of
+ * {@code sessions} players (4 per game, 2 guesses each) on startup.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JournalBenchmark {
+
+    private static final Duration NEVER = Duration.ofDays(1);
+    private static final int PLAYERS = 1024;
+    private static final int PLAYERS_PER_GAME = 4;
+
+    @State(Scope.Benchmark)
+    public static class Guessing {
+        @Param({"memory", "journal"})
+        public String store;
+
+        private Path dir;
+        private SessionStore sessions;
+        private GameService service;
+        private UUID gameId;
+        private final UUID[] players = new UUID[PLAYERS];
+        private String guess;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            Dictionary dictionary = SyntheticWords.dictionary(13_000);
+            // effectively unlimited turns, so every call is a valid guess
+            DictionaryVersion version = new DictionaryVersion(1,
+                new WordleGame(Short.MAX_VALUE, dictionary), new Solver(dictionary));
+            dir = Files.createTempDirectory("journal-bench");
+            sessions = "journal".equals(store)
+                ? new JournalSessionStore(NEVER, NEVER, 1, 2 * PLAYERS, version, dir.resolve("j.bin"), false)
+                : new InMemorySessionStore(NEVER, NEVER, 1, 2 * PLAYERS);
+            service = new GameService(new DictionaryRegistry(version), sessions,
+                new GameMetrics(new SimpleMeterRegistry()));
+            gameId = service.createGame();
+            guess = dictionary.getWord(0);
+            for (int i = 0; i < PLAYERS; i++) {
+                // skip the rare player whose answer is the guess itself
+                do {
+                    players[i] = service.joinGame(gameId);
+                } while (service.submitGuess(gameId, players[i], guess).hasWon());
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            sessions.close();
+            deleteAll(dir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Object guess(Guessing s) {
+        int i = s.next++ & (PLAYERS - 1);
+        return s.service.submitGuess(s.gameId, s.players[i], s.guess);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Journal {
+        @Param({"100000", "1000000"})
+        public int sessions;
+
+        private Path dir;
+        private Path file;
+        private DictionaryVersion version;
+
+        @Setup(Level.Trial)
+        public void write() throws IOException {
+            Dictionary dictionary = SyntheticWords.dictionary(13_000);
+            version = new DictionaryVersion(1, new WordleGame(6, dictionary), new Solver(dictionary));
+            dir = Files.createTempDirectory("journal-bench");
+            file = dir.resolve("j.bin");
+            try (SessionStore store = open(version, file, sessions)) {
+                GameService service = new GameService(new DictionaryRegistry(version), store,
+                    new GameMetrics(new SimpleMeterRegistry()));
+                for (int g = 0; g < sessions / PLAYERS_PER_GAME; g++) {
+                    UUID gameId = service.createGame();
+                    for (int p = 0; p < PLAYERS_PER_GAME; p++) {
+                        UUID playerId = service.joinGame(gameId);
+                        service.submitGuess(gameId, playerId, dictionary.getWord(g % dictionary.size()));
+                        // the first guess may already have won
+                        try {
+                            service.submitGuess(gameId, playerId, dictionary.getWord(p));
+                        } catch (IllegalStateException gameOver) {
+                            // journal keeps the single guess
+                        }
+                    }
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * replay the journal into a fresh store; the file is rewritten with the
+     * same records, so every iteration restores the same sessions
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public SessionStats recover(Journal j) throws IOException {
+        try (SessionStore store = open(j.version, j.file, j.sessions)) {
+            SessionStats stats = store.getStats();
+            if (stats.livePlayers() != j.sessions) {
+                throw new IllegalStateException("restored " + stats.livePlayers() + " of " + j.sessions);
+            }
+            return stats;
+        }
+    }
+
+    private static SessionStore open(DictionaryVersion version, Path file, int sessions) throws IOException {
+        return new JournalSessionStore(NEVER, NEVER, sessions, sessions, version, file, false);
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path f : (Iterable<Path>) files::iterator) {
+                Files.delete(f);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.wordle.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * HTTP load generator for a running server: keeps {@code connections}
+ * players guessing concurrently, each waiting for its previous response,
+ * and reports guess throughput and latency percentiles.
+ * <pre>
+ * java -cp wordle-bench/target/benchmarks.jar com.example.wordle.bench.LoadTest \
+ *     [url=http://localhost:8080] [connections=10000] [seconds=30] [warmup=5] [playersPerGame=100]
+ * </pre>
+ * Requests are sent asynchronously, so the generator itself needs only a
+ * few threads for any number of connections. Start the server with room for
+ * the connections and turns, e.g.
+ * {@code --server.tomcat.max-connections=20000 --server.tomcat.accept-count=10000 --wordle.maxTurns=1000000 --wordle.mode=normal}.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    // latency buckets of 100us, up to 60s
+    private static final int BUCKET_NANOS = 100_000;
+    private static final int BUCKETS = 600_000;
+
+    private final String url;
+    private final HttpClient client;
+    private final List<String> guesses;
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long measureFrom;
+    private volatile long stopAt;
+
+    private LoadTest(String url) throws Exception {
+        this.url = url;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+        String gameId = post("/games", null).get("gameId").asText();
+        String playerId = post("/games/" + gameId + "/join", null).get("playerId").asText();
+        JsonNode words = get("/admin/games/" + gameId + "/players/" + playerId + "/candidates?limit=1000").get("words");
+        this.guesses = new ArrayList<>();
+        words.forEach(w -> guesses.add(w.asText()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = arg(args, "url", "http://localhost:8080");
+        int connections = Integer.parseInt(arg(args, "connections", "10000"));
+        int seconds = Integer.parseInt(arg(args, "seconds", "30"));
+        int warmup = Integer.parseInt(arg(args, "warmup", "5"));
+        int playersPerGame = Integer.parseInt(arg(args, "playersPerGame", "100"));
+
+        LoadTest test = new LoadTest(url);
+        List<String> games = new ArrayList<>();
+        for (int i = 0; i < connections; i += playersPerGame) {
+            games.add(test.post("/games", null).get("gameId").asText());
+        }
+        long start = System.nanoTime();
+        test.measureFrom = start + warmup * 1_000_000_000L;
+        test.stopAt = test.measureFrom + seconds * 1_000_000_000L;
+        List<CompletableFuture<Void>> players = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Player player = test.new Player(games.get(i / playersPerGame), i);
+            player.join();
+            players.add(player.finished);
+        }
+        CompletableFuture.allOf(players.toArray(new CompletableFuture[0])).join();
+        test.report(connections, seconds);
+    }
+
+    /**
+     * one simulated player: joins, then guesses until the test ends,
+     * re-joining when its game is over
+     */
+    private final class Player {
+        private final String gameId;
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private String playerId;
+        private int turn;
+
+        Player(String gameId, int seed) {
+            this.gameId = gameId;
+            this.turn = seed;
+        }
+
+        void join() {
+            if (System.nanoTime() >= stopAt) {
+                finished.complete(null);
+                return;
+            }
+            client.sendAsync(request("/games/" + gameId + "/join", null, null), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((res, e) -> {
+                    if (e != null || res.statusCode() != 200) {
+                        retry(this::join);
+                        return;
+                    }
+                    playerId = parse(res.body()).get("playerId").asText();
+                    guess();
+                });
+        }
+
+        void guess() {
+            if (System.nanoTime() >= stopAt) {
+                finished.complete(null);
+                return;
+            }
+            String word = guesses.get(Math.floorMod(turn++, guesses.size()));
+            HttpRequest req = request("/games/" + gameId + "/guesses", playerId, "{\"guess\":\"" + word + "\"}");
+            long sent = System.nanoTime();
+            client.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((res, e) -> {
+                    long now = System.nanoTime();
+                    if (e != null || res.statusCode() != 200) {
+                        retry(this::join);
+                        return;
+                    }
+                    if (sent >= measureFrom && now < stopAt) {
+                        record(now - sent);
+                    }
+                    if (parse(res.body()).get("isOver").asBoolean()) {
+                        join();
+                    } else {
+                        guess();
+                    }
+                });
+        }
+
+        /**
+         * count a failed request (refused, reset, 5xx) and try again shortly
+         */
+        private void retry(Runnable next) {
+            errors.incrementAndGet();
+            CompletableFuture.runAsync(next, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void record(long nanos) {
+        ok.incrementAndGet();
+        latencies.incrementAndGet((int) Math.min(BUCKETS - 1, nanos / BUCKET_NANOS));
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void report(int connections, int seconds) {
+        long n = ok.get();
+        System.out.printf("connections=%d seconds=%d guesses=%d errors=%d throughput=%.0f/s%n",
+            connections, seconds, n, errors.get(), n / (double) seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+            percentile(n, 0.50), percentile(n, 0.90), percentile(n, 0.99), percentile(n, 0.999),
+            maxNanos.get() / 1e6);
+    }
+
+    private double percentile(long count, double p) {
+        long rank = (long) Math.ceil(count * p);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += latencies.get(b);
+            if (seen >= rank && seen > 0) {
+                return (b + 1) * (double) BUCKET_NANOS / 1e6;
+            }
+        }
+        return 0;
+    }
+
+    private HttpRequest request(String path, String playerId, String body) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (playerId != null) {
+            b.header("X-Player-Id", playerId);
+        }
+        return b.build();
+    }
+
+    private JsonNode post(String path, String body) throws Exception {
+        return parse(client.send(request(path, null, body), HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private JsonNode get(String path) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(url + path)).GET().build();
+        return parse(client.send(req, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static JsonNode parse(String body) {
+        try {
+            return JSON.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected response: " + body, e);
+        }
+    }
+
+    private static String arg(String[] args, String name, String fallback) {
+        for (String a : args) {
+            if (a.startsWith(name + "=")) {
+                return a.substring(name.length() + 1);
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.wordle.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.WordleScorer;
+
+/**
+ * single scoring call: Mark[] on strings against the packed base-3 path
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScorerBenchmark {
+
+    private static final int WORDS = 1024;
+
+    private final WordleScorer scorer = new WordleScorer();
+    private Dictionary dictionary;
+    private int guess;
+    private int answer;
+
+    @Setup
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(WORDS);
+    }
+
+    private void advance() {
+        guess = (guess + 1) & (WORDS - 1);
+        answer = (answer + 37) & (WORDS - 1);
+    }
+
+    @Benchmark
+    public WordleScorer.Mark[] scoreStrings() {
+        advance();
+        return scorer.score(dictionary.getWord(guess), dictionary.getWord(answer));
+    }
+
+    @Benchmark
+    public int scorePacked() {
+        advance();
+        return WordleScorer.scorePacked(dictionary.getPacked(guess), dictionary.getPacked(answer));
+    }
+}
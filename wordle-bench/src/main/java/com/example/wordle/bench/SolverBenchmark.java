@@ -0,0 +1,152 @@
+package com.example.wordle.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.DecisionTree;
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+
+/**
+ * hint latency: ranking every word as a guess after the first guess of a
+ * game (the per-request cost), and computing the opening once per
+ * dictionary, with patterns scored on the fly or looked up in a feedback table.
+ * After the opening guess, the same hints are also served from a mapped
+ * two-ply decision tree.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SolverBenchmark {
+
+    private static final int GAMES = 64;
+
+    @Param({"2000", "13000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean table;
+
+    private Dictionary dictionary;
+    private Solver solver;
+    private final WordleGame[] games = new WordleGame[GAMES];
+    private int next;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(size);
+        solver = solver(dictionary);
+        // one guess played, as when a player asks for their second guess
+        Random random = new Random(1);
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = new WordleGame(6, dictionary, dictionary.getWord(random.nextInt(size)));
+            games[i].play(random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Solver.Hint hint() {
+        return solver.hint(games[next++ & (GAMES - 1)], Solver.Strategy.ENTROPY, 5);
+    }
+
+    /**
+     * a new word list every iteration, so the opening is not cached yet
+     */
+    @State(Scope.Thread)
+    public static class Cold {
+        private Solver solver;
+
+        @Setup(Level.Iteration)
+        public void freshDictionary(SolverBenchmark b) {
+            solver = b.solver(Dictionary.of("cold", SyntheticWords.generate(b.size, ++b.seed)));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Object opening(Cold cold) {
+        return cold.solver.opening(Solver.Strategy.ENTROPY);
+    }
+
+    /**
+     * games whose first guess was the best opening, and a solver that maps
+     * a decision tree covering them
+     */
+    @State(Scope.Benchmark)
+    public static class Tree {
+        private Path file;
+        private Solver solver;
+        private final WordleGame[] games = new WordleGame[GAMES];
+
+        @Setup(Level.Trial)
+        public void build(SolverBenchmark b) throws IOException {
+            file = Files.createTempFile("decision-tree", ".bin");
+            DecisionTree.build(b.solver, Solver.Strategy.ENTROPY, 2, 10).write(file);
+            solver = new Solver(b.dictionary, null, ForkJoinPool.commonPool(),
+                Solver.DEFAULT_PARALLEL_THRESHOLD, file);
+            String opening = b.solver.opening(Solver.Strategy.ENTROPY).get(0).word();
+            Random random = new Random(2);
+            for (int i = 0; i < GAMES; i++) {
+                // skip the rare game the opening already wins
+                do {
+                    games[i] = new WordleGame(6, b.dictionary, b.dictionary.getWord(random.nextInt(b.size)));
+                } while (games[i].guess(opening));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Solver.Hint afterOpeningComputed(Tree t) {
+        return solver.hint(t.games[next++ & (GAMES - 1)], Solver.Strategy.ENTROPY, 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Solver.Hint afterOpeningFromTree(Tree t) {
+        return t.solver.hint(t.games[next++ & (GAMES - 1)], Solver.Strategy.ENTROPY, 5);
+    }
+
+    private Solver solver(Dictionary words) {
+        FeedbackTable feedback = table ? FeedbackTable.build(words) : null;
+        return new Solver(words, feedback, ForkJoinPool.commonPool(), Solver.DEFAULT_PARALLEL_THRESHOLD);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.wordle.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.example.wordle.Dictionary;
+
+/**
+ * generates reproducible random 5-letter word lists so benchmarks
+ * do not depend on a real dictionary file
+ */
+public final class SyntheticWords {
+
+    private SyntheticWords() {
+    }
+
+    /**
+     * @param size number of distinct words
+     * @param seed random seed, same seed gives the same list
+     */
+    public static List<String> generate(int size, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        char[] chars = new char[5];
+        while (words.size() < size) {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            words.add(new String(chars));
+        }
+        return new ArrayList<>(words);
+    }
+
+    public static Dictionary dictionary(int size) {
+        return Dictionary.of("synthetic-" + size, generate(size, size));
+    }
+}
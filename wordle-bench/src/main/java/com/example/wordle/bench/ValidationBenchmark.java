@@ -0,0 +1,71 @@
+package com.example.wordle.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.wordle.Dictionary;
+
+/**
+ * guess validation: the old List.contains scan against the packed
+ * hash index in Dictionary, half of the probes being valid words
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"1000", "13000", "100000"})
+    public int size;
+
+    private List<String> list;
+    private Dictionary dictionary;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dictionary = SyntheticWords.dictionary(size);
+        list = new ArrayList<>(dictionary.getWords());
+        List<String> misses = SyntheticWords.generate(size * 2, -1);
+        misses.removeAll(dictionary.getWords());
+        Random random = new Random(42);
+        probes = new String[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i % 2 == 0
+                ? list.get(random.nextInt(list.size()))
+                : misses.get(random.nextInt(misses.size()));
+        }
+    }
+
+    private String nextProbe() {
+        next = (next + 1) & (probes.length - 1);
+        return probes[next];
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        return list.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean dictionaryContains() {
+        return dictionary.contains(nextProbe());
+    }
+}
@@ -7,11 +7,25 @@ import com.example.wordle.WordleGame;
 import com.example.wordle.WordleScorer;
 
 /**
- * Command-line interface for playing Wordle.
+ * Command-line interface for playing Wordle. With a command as the first
+ * argument it runs that instead:
+ * <ul>
+ *   <li>{@code tree ...}: build a solver decision tree, see {@link TreeCommand}</li>
+ *   <li>{@code simulate ...}: play many games headless and report the
+ *       outcomes, see {@link SimulateCommand}</li>
+ * </ul>
  */
 public class App {
 
     public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("tree")) {
+            TreeCommand.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("simulate")) {
+            SimulateCommand.run(args);
+            return;
+        }
         // Configuration: maxRounds and word list file can be customized via args or defaults
         int maxRounds = 6;
         String wordFile = "words.txt";
@@ -68,4 +82,16 @@ public class App {
             System.out.println("Game over! The correct word was: " + game.getAnswer());
         }
     }
+
+    /**
+     * value of a {@code name=value} argument, or fallback when absent
+     */
+    static String arg(String[] args, String name, String fallback) {
+        for (String a : args) {
+            if (a.startsWith(name + "=")) {
+                return a.substring(name.length() + 1);
+            }
+        }
+        return fallback;
+    }
 }
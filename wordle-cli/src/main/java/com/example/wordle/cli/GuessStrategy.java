@@ -0,0 +1,64 @@
+package com.example.wordle.cli;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+
+/**
+ * How a simulated player picks its guesses. Each simulation task gets its
+ * own {@link Player} and reuses it for every game it plays, so a player
+ * keeps its per-game state in arrays it resets instead of allocating.
+ */
+interface GuessStrategy {
+
+    /**
+     * @param seed seed of the player's random choices, if it makes any
+     */
+    Player newPlayer(long seed);
+
+    /**
+     * one simulated player; not shared between threads
+     */
+    interface Player {
+
+        /**
+         * Forget the previous game before the first guess of the next.
+         */
+        void reset();
+
+        /**
+         * @return dictionary id of the next guess in this game
+         */
+        int guess(WordleGame game);
+
+        /**
+         * Feedback for the guess just played.
+         *
+         * @param pattern feedback pattern, see {@link WordleGame.State#getLastPattern()}
+         */
+        void feedback(int guessId, int pattern);
+    }
+
+    /**
+     * @param name     {@code random}, or a {@link Solver.Strategy} name for
+     *                 the solver's best guess
+     * @param feedback precomputed patterns, or null to score on the fly
+     * @param tree     decision tree file for solver strategies, or null
+     */
+    static GuessStrategy named(String name, Dictionary dictionary, FeedbackTable feedback, Path tree) {
+        if (name.equalsIgnoreCase("random")) {
+            return new RandomStrategy(dictionary, feedback);
+        }
+        Solver.Strategy strategy;
+        try {
+            strategy = Solver.Strategy.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown strategy " + name + ", expected random, entropy or minimax");
+        }
+        return new SolverStrategy(dictionary, feedback, tree, strategy);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.wordle.cli;
+
+import java.util.SplittableRandom;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.WordleGame;
+import com.example.wordle.WordleScorer;
+
+/**
+ * Guesses a random word that is still consistent with all feedback, as a
+ * careful human would without any search. Candidates are ids in an array
+ * owned by the player, narrowed in place after every guess, so a game
+ * allocates nothing here.
+ */
+final class RandomStrategy implements GuessStrategy {
+    private final Dictionary dictionary;
+    private final FeedbackTable feedback;
+
+    RandomStrategy(Dictionary dictionary, FeedbackTable feedback) {
+        this.dictionary = dictionary;
+        this.feedback = feedback;
+    }
+
+    @Override
+    public Player newPlayer(long seed) {
+        return new RandomPlayer(new SplittableRandom(seed));
+    }
+
+    private final class RandomPlayer implements Player {
+        private final SplittableRandom random;
+        private final int[] candidates = new int[dictionary.size()];
+        private int count;
+
+        RandomPlayer(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public void reset() {
+            for (int id = 0; id < candidates.length; id++) {
+                candidates[id] = id;
+            }
+            count = candidates.length;
+        }
+
+        @Override
+        public int guess(WordleGame game) {
+            if (count == 0) {
+                throw new IllegalStateException("No word matches the feedback");
+            }
+            return candidates[random.nextInt(count)];
+        }
+
+        @Override
+        public void feedback(int guessId, int pattern) {
+            int guess = dictionary.getPacked(guessId);
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int id = candidates[i];
+                int p = feedback != null
+                    ? feedback.pattern(guessId, id)
+                    : WordleScorer.scorePacked(guess, dictionary.getPacked(id));
+                if (p == pattern) {
+                    candidates[kept++] = id;
+                }
+            }
+            count = kept;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.wordle.cli;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.WordleGame;
+
+/**
+ * Headless self-play, to measure game throughput and how often a strategy
+ * beats the normal or the cheating host:
+ * <pre>
+ * wordle-cli simulate [games=100000] [mode=normal] [strategy=random] [words=words.txt] [turns=6]
+ *                     [threads=cores] [executor=forkjoin] [seed=1] [table=false] [tree=]
+ * </pre>
+ * Strategies are {@code random} (a random word consistent with the
+ * feedback), {@code entropy} and {@code minimax} (the solver's best hint,
+ * with an optional decision tree from {@code tree}). Games run in fixed
+ * slices on a fork-join pool of {@code threads} workers, or on one virtual
+ * thread per slice with {@code executor=virtual} (Java 21+). Answers and
+ * random guesses follow from the seed, so a run is repeatable whatever the
+ * thread count.
+ */
+final class SimulateCommand {
+    /** games per task, each with its own player and random source */
+    private static final int SLICE = 1024;
+    private static final long PROGRESS_SECONDS = 5;
+
+    private SimulateCommand() {
+    }
+
+    /**
+     * outcomes of some games; one per task, merged at the end
+     */
+    static final class Tally {
+        /** wins by turns used, losses in the last slot */
+        final long[] games;
+        long guesses;
+        long allocatedBytes;
+
+        Tally(int maxTurns) {
+            games = new long[maxTurns + 2];
+        }
+
+        void add(Tally other) {
+            for (int i = 0; i < games.length; i++) {
+                games[i] += other.games[i];
+            }
+            guesses += other.guesses;
+            allocatedBytes = allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes;
+        }
+    }
+
+    static void run(String[] args) throws IOException {
+        long games = Long.parseLong(App.arg(args, "games", "100000"));
+        String mode = App.arg(args, "mode", "normal");
+        String strategyName = App.arg(args, "strategy", "random");
+        String wordFile = App.arg(args, "words", "words.txt");
+        int turns = Integer.parseInt(App.arg(args, "turns", "6"));
+        int threads = Integer.parseInt(App.arg(args, "threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String executorName = App.arg(args, "executor", "forkjoin");
+        long seed = Long.parseLong(App.arg(args, "seed", "1"));
+        boolean table = Boolean.parseBoolean(App.arg(args, "table", "false"));
+        String tree = App.arg(args, "tree", "");
+        if (!mode.equals("normal") && !mode.equals("cheat")) {
+            throw new IllegalArgumentException("mode must be normal or cheat");
+        }
+
+        Dictionary dictionary = Dictionary.load(wordFile);
+        FeedbackTable feedback = table ? FeedbackTable.build(dictionary) : null;
+        // one game per core already: score each cheating partition on its own thread
+        WordleGame prototype = mode.equals("cheat")
+                ? new CheatingWordleGame(turns, dictionary, feedback, ForkJoinPool.commonPool(), Integer.MAX_VALUE)
+                : new WordleGame(turns, dictionary);
+        GuessStrategy strategy = GuessStrategy.named(strategyName, dictionary, feedback,
+                tree.isBlank() ? null : Path.of(tree));
+
+        ExecutorService executor = executorName.equals("virtual") ? newVirtualThreadPerTaskExecutor() : null;
+        if (executor == null) {
+            executorName = "forkjoin";
+            executor = new ForkJoinPool(threads);
+        } else {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        System.out.printf("Simulating %d %s games: strategy=%s words=%s (%d) turns=%d executor=%s threads=%d seed=%d%n",
+                games, mode, strategyName, wordFile, dictionary.size(), turns, executorName, threads, seed);
+
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long start = System.nanoTime();
+        Tally total = simulate(prototype, strategy, games, seed, executor);
+        if (total == null) {
+            return;
+        }
+        report(total, games, turns, seconds(start), gcCount(gcCount), gcMillis(gcMillis));
+    }
+
+    /**
+     * play games in slices on the executor, then shut it down
+     *
+     * @return the merged outcomes, or null if interrupted
+     */
+    static Tally simulate(WordleGame prototype, GuessStrategy strategy, long games, long seed,
+                          ExecutorService executor) {
+        long start = System.nanoTime();
+        LongAdder played = new LongAdder();
+        List<Future<Tally>> tasks = new ArrayList<>();
+        for (long from = 0, slice = 0; from < games; from += SLICE, slice++) {
+            long count = Math.min(SLICE, games - from);
+            long sliceSeed = seed * 0x9E3779B97F4A7C15L + slice;
+            tasks.add(executor.submit(() -> play(prototype, strategy, count, sliceSeed, played)));
+        }
+        executor.shutdown();
+        Tally total = new Tally(prototype.getMaxTurns());
+        try {
+            while (!executor.awaitTermination(PROGRESS_SECONDS, TimeUnit.SECONDS)) {
+                long done = played.sum();
+                System.out.printf("  %d/%d games, %.0f games/s%n", done, games, done / seconds(start));
+            }
+            for (Future<Tally> task : tasks) {
+                total.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * play count games with one player, on the calling thread
+     */
+    private static Tally play(WordleGame prototype, GuessStrategy strategy, long count, long seed, LongAdder played) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GuessStrategy.Player player = strategy.newPlayer(random.nextLong());
+        int words = prototype.getDictionary().size();
+        int maxTurns = prototype.getMaxTurns();
+        Tally tally = new Tally(maxTurns);
+        long allocated = allocatedBytes();
+        for (long g = 0; g < count; g++) {
+            // the cheating host ignores the answer
+            WordleGame game = prototype.newGame(random.nextInt(words));
+            player.reset();
+            WordleGame.State state = game.getState();
+            while (!state.isOver()) {
+                int guess = player.guess(game);
+                state = game.play(guess);
+                player.feedback(guess, state.getLastPattern());
+            }
+            tally.games[state.hasWon() ? state.getTurnsUsed() : maxTurns + 1]++;
+            tally.guesses += state.getTurnsUsed();
+            played.increment();
+        }
+        long after = allocatedBytes();
+        tally.allocatedBytes = allocated < 0 || after < 0 ? -1 : after - allocated;
+        return tally;
+    }
+
+    private static void report(Tally total, long games, int turns, double seconds, long gcCount, long gcMillis) {
+        long lost = total.games[turns + 1];
+        long won = games - lost;
+        long winTurns = 0;
+        for (int t = 1; t <= turns; t++) {
+            winTurns += t * total.games[t];
+        }
+        System.out.printf("%d games in %.2f s: %.0f games/s, %.0f guesses/s%n",
+                games, seconds, games / seconds, total.guesses / seconds);
+        System.out.printf("Won %d (%.2f%%), lost %d; %.3f turns per win%n",
+                won, 100.0 * won / games, lost, won == 0 ? 0.0 : (double) winTurns / won);
+        for (int t = 1; t <= turns + 1; t++) {
+            double share = 100.0 * total.games[t] / games;
+            System.out.printf("  %-4s %10d %6.2f%% %s%n", t <= turns ? String.valueOf(t) : "lost",
+                    total.games[t], share, "#".repeat((int) Math.round(share / 2)));
+        }
+        String allocated = total.allocatedBytes < 0 ? "n/a"
+                : String.format("%.0f bytes/game", (double) total.allocatedBytes / games);
+        System.out.printf("Allocated %s; GC %d collections, %d ms (%.1f%% of the run)%n",
+                allocated, gcCount, gcMillis, gcMillis / (10 * seconds));
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * @return bytes allocated by the calling thread so far, or -1 if the
+     *         JVM does not track it, e.g. for virtual threads
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcCount(long since) {
+        return gcCount() - since;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static long gcMillis(long since) {
+        return gcMillis() - since;
+    }
+
+    /**
+     * looked up reflectively so the CLI still builds and runs on Java 17
+     *
+     * @return the executor, or null if this runtime has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            System.out.println("executor=virtual needs Java 21+, running on " + Runtime.version() + "; using fork-join");
+        } catch (InvocationTargetException e) {
+            // Java 19/20 without --enable-preview
+            System.out.println("Virtual threads are not available (" + e.getCause() + "); using fork-join");
+        }
+        return null;
+    }
+}
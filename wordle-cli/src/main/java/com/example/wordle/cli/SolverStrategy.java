@@ -0,0 +1,49 @@
+package com.example.wordle.cli;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+
+/**
+ * Plays the solver's best hint every turn. The opening is computed once
+ * and shared, and with a decision tree the first plies are lookups; later
+ * turns rank guesses, which dominates the cost of a game.
+ */
+final class SolverStrategy implements GuessStrategy {
+    private final Dictionary dictionary;
+    private final Solver solver;
+    private final Solver.Strategy strategy;
+
+    /**
+     * @param tree decision tree file built for this dictionary, or null
+     */
+    SolverStrategy(Dictionary dictionary, FeedbackTable feedback, Path tree, Solver.Strategy strategy) {
+        this.dictionary = dictionary;
+        // the simulation already runs a game per core: rank each hint on its own thread
+        this.solver = new Solver(dictionary, feedback, ForkJoinPool.commonPool(), Integer.MAX_VALUE, tree);
+        this.strategy = strategy;
+    }
+
+    @Override
+    public Player newPlayer(long seed) {
+        return new Player() {
+            @Override
+            public void reset() {
+            }
+
+            @Override
+            public int guess(WordleGame game) {
+                return dictionary.indexOf(solver.hint(game, strategy, 1).suggestions().get(0).word());
+            }
+
+            @Override
+            public void feedback(int guessId, int pattern) {
+                // the solver reads the feedback from the game
+            }
+        };
+    }
+}
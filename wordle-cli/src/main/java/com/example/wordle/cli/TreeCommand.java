@@ -0,0 +1,46 @@
+package com.example.wordle.cli;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.wordle.DecisionTree;
+import com.example.wordle.Dictionary;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.Solver;
+
+/**
+ * Offline generator for a solver decision tree:
+ * <pre>
+ * wordle-cli tree [out=decision-tree.bin] [words=words.txt] [strategy=entropy] [plies=2] [width=10] [table=true]
+ * </pre>
+ * Hints are ranked with a feedback table (size^2 bytes on the heap) unless
+ * {@code table=false}; the tree is only valid for the word list it was built from.
+ */
+final class TreeCommand {
+
+    private TreeCommand() {
+    }
+
+    static void run(String[] args) throws IOException {
+        Path out = Path.of(App.arg(args, "out", "decision-tree.bin"));
+        String wordFile = App.arg(args, "words", "words.txt");
+        Solver.Strategy strategy = Solver.Strategy.valueOf(
+                App.arg(args, "strategy", "entropy").toUpperCase(Locale.ROOT));
+        int plies = Integer.parseInt(App.arg(args, "plies", "2"));
+        int width = Integer.parseInt(App.arg(args, "width", "10"));
+        boolean table = Boolean.parseBoolean(App.arg(args, "table", "true"));
+
+        long start = System.nanoTime();
+        Dictionary dictionary = Dictionary.load(wordFile);
+        FeedbackTable feedback = table ? FeedbackTable.build(dictionary) : null;
+        Solver solver = new Solver(dictionary, feedback, ForkJoinPool.commonPool(), Solver.DEFAULT_PARALLEL_THRESHOLD);
+        DecisionTree tree = DecisionTree.build(solver, strategy, plies, width);
+        tree.write(out);
+        System.out.printf("Decision tree for %s (%d words): strategy=%s plies=%d width=%d nodes=%d bytes=%d millis=%d%n",
+                wordFile, dictionary.size(), strategy, plies, width, tree.getNodeCount(), tree.getSizeBytes(),
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.println("Written to " + out.toAbsolutePath());
+    }
+}
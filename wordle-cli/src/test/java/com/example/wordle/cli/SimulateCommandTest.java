@@ -0,0 +1,40 @@
+package com.example.wordle.cli;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.WordleGame;
+
+class SimulateCommandTest {
+
+    private static final Dictionary WORDS = Dictionary.of("tiny", List.of(
+        "crane", "crate", "trace", "react", "cater", "caret", "slate", "stale", "least", "steal"));
+
+    /**
+     * Answers and random guesses follow from the seed and the slice, so the
+     * same run on one worker or several should tally the same games.
+     */
+    @Test
+    void sameSeedSameTallyWhateverTheThreads() {
+        // a few slices, so they are spread over the workers
+        long games = 3000;
+        WordleGame prototype = new WordleGame(6, WORDS);
+        GuessStrategy strategy = new RandomStrategy(WORDS, null);
+
+        SimulateCommand.Tally one = SimulateCommand.simulate(prototype, strategy, games, 7, new ForkJoinPool(1));
+        SimulateCommand.Tally four = SimulateCommand.simulate(prototype, strategy, games, 7, new ForkJoinPool(4));
+
+        assertArrayEquals(one.games, four.games);
+        assertEquals(one.guesses, four.guesses);
+        long played = 0;
+        for (long count : one.games) {
+            played += count;
+        }
+        assertEquals(games, played);
+    }
+}
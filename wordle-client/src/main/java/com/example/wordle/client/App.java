@@ -4,8 +4,11 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.example.wordle.WordleScorer.Mark;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -13,13 +16,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * command-line client that runs two players (A and B) in one terminal,
- * alternating turns, showing feedback per guess, and declaring a winner
+ * alternating turns, showing feedback per guess, and declaring a winner.
+ * Player state comes from the game's server-sent event stream and the
+ * guess responses, instead of a state request before every turn
  */
 public class App {
 
     private static final String SERVER_BASE = "http://localhost:8080";
     private static final ObjectMapper JSON = new ObjectMapper();
     private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    // latest known state of each player, by player id
+    private static final Map<String, JsonNode> PROGRESS = new ConcurrentHashMap<>();
 
     public static void main(String[] args) throws Exception {
         try (Scanner scanner = new Scanner(System.in)) {
@@ -36,6 +43,7 @@ public class App {
             String playerBId = post("/games/" + gameId + "/join", "").get("playerId").asText();
             System.out.println("Player B joined with ID: " + playerBId);
             System.out.println();
+            followProgress(gameId);
 
             boolean gameOver = false;
             String current = "A";
@@ -44,17 +52,11 @@ public class App {
             while (!gameOver) {
                 String pid = current.equals("A") ? playerAId : playerBId;
 
-                // 3.1 check this player's state before guessing
-                HttpRequest stateReq = HttpRequest.newBuilder()
-                    .uri(URI.create(SERVER_BASE + "/games/" + gameId))
-                    .timeout(Duration.ofSeconds(5))
-                    .header("X-Player-Id", pid)
-                    .GET()
-                    .build();
-                HttpResponse<String> stateRes = CLIENT.send(stateReq, HttpResponse.BodyHandlers.ofString());
-                JsonNode stateJson = JSON.readTree(stateRes.body());
-                boolean isOver = stateJson.get("isOver").asBoolean();
-                boolean hasWon = stateJson.get("hasWon").asBoolean();
+                // 3.1 check this player's state before guessing; nothing
+                // known yet means the player has not guessed
+                JsonNode stateJson = PROGRESS.get(pid);
+                boolean isOver = stateJson != null && stateJson.get("isOver").asBoolean();
+                boolean hasWon = stateJson != null && stateJson.get("hasWon").asBoolean();
                 if (isOver) {
                     if (hasWon) {
                         System.out.printf("Player %s already won.%n", current);
@@ -105,6 +107,7 @@ public class App {
 
                 // 5. parse result
                 JsonNode res = JSON.readTree(guessRes.body());
+                record(pid, res);
                 JsonNode marks = res.get("marks");
                 boolean won = res.get("hasWon").asBoolean();
                 isOver = res.get("isOver").asBoolean();
@@ -140,6 +143,37 @@ public class App {
         }
     }
 
+    /**
+     * keep PROGRESS up to date from the game's event stream, in the
+     * background until the server closes it
+     */
+    private static void followProgress(String gameId) {
+        HttpRequest req = HttpRequest.newBuilder()
+            .uri(URI.create(SERVER_BASE + "/games/" + gameId + "/events"))
+            .header("Accept", "text/event-stream")
+            .GET()
+            .build();
+        CLIENT.sendAsync(req, HttpResponse.BodyHandlers.ofLines())
+            .thenAccept(res -> res.body()
+                .filter(line -> line.startsWith("data:"))
+                .forEach(line -> {
+                    try {
+                        JsonNode event = JSON.readTree(line.substring("data:".length()));
+                        record(event.get("playerId").asText(), event);
+                    } catch (IOException e) {
+                        // not a progress event, skip it
+                    }
+                }));
+    }
+
+    /**
+     * events may arrive after a newer guess response: keep the most turns
+     */
+    private static void record(String playerId, JsonNode state) {
+        PROGRESS.merge(playerId, state, (known, update) ->
+            update.get("turnsUsed").asInt() >= known.get("turnsUsed").asInt() ? update : known);
+    }
+
     /**
      * helper: send POST and return parsed JSON
      */
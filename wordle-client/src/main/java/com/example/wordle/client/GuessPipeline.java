@@ -0,0 +1,216 @@
+package com.example.wordle.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import com.example.wordle.WordleScorer.Mark;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * client for bots and test harnesses that submit many guesses: guesses are
+ * collected into batches for POST /games/guesses, and the batches are sent
+ * concurrently as streams of one shared HTTP/2 connection, so neither a
+ * request per guess nor a connection per in-flight request is needed.
+ * <pre>
+ * GuessPipeline pipeline = new GuessPipeline("http://localhost:8080", 100, 8);
+ * CompletableFuture&lt;GuessPipeline.Result&gt; r = pipeline.submit(gameId, playerId, "crane");
+ * ...
+ * pipeline.flush();
+ * </pre>
+ * The server must have server.http2.enabled=true; otherwise the client
+ * falls back to HTTP/1.1 with one connection per in-flight batch, as
+ * {@link #getVersion()} then shows.
+ */
+public class GuessPipeline {
+
+    /**
+     * outcome of one guess: status 200 with the feedback, or 400/409 with
+     * the server's message
+     */
+    public record Result(
+        int status,
+        Mark[] marks,
+        boolean hasWon,
+        boolean isOver,
+        int turnsUsed,
+        String answer,
+        String message
+    ) {
+        public boolean isOk() {
+            return status == 200;
+        }
+    }
+
+    private record Pending(UUID gameId, UUID playerId, String guess, CompletableFuture<Result> result) {}
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final URI batchUri;
+    private final int batchSize;
+    private final Semaphore inFlight;
+    private final HttpClient client;
+    private final HttpClient.Version version;
+    private List<Pending> pending = new ArrayList<>();
+
+    /**
+     * @param serverBase  e.g. http://localhost:8080
+     * @param batchSize   guesses per request, at most the server's 1000
+     * @param maxInFlight batches sent but not answered yet; submit blocks
+     *                    when a full batch would exceed this
+     */
+    public GuessPipeline(String serverBase, int batchSize, int maxInFlight) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("batchSize and maxInFlight must be positive");
+        }
+        this.batchUri = URI.create(serverBase + "/games/guesses");
+        this.batchSize = batchSize;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.version = connect();
+    }
+
+    /**
+     * @return the protocol the server answered the first request with,
+     *         HTTP_2 if batches share one connection
+     */
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    /**
+     * queue a guess; it is sent once a batch is full or on {@link #flush()}.
+     * A player's guesses are played in order within one batch, but batches
+     * in flight may be processed in any order, so wait for a player's result
+     * before queueing its next guess into a later batch.
+     */
+    public CompletableFuture<Result> submit(UUID gameId, UUID playerId, String guess) {
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        List<Pending> full = null;
+        synchronized (this) {
+            pending.add(new Pending(gameId, playerId, guess, result));
+            if (pending.size() >= batchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    /**
+     * send the queued guesses now, even if they do not fill a batch
+     */
+    public void flush() {
+        List<Pending> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        send(batch);
+    }
+
+    private void send(List<Pending> batch) {
+        ArrayNode body = JSON.createArrayNode();
+        for (Pending p : batch) {
+            body.addObject()
+                .put("gameId", p.gameId().toString())
+                .put("playerId", p.playerId().toString())
+                .put("guess", p.guess());
+        }
+        HttpRequest req = HttpRequest.newBuilder(batchUri)
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+        inFlight.acquireUninterruptibly();
+        client.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((res, e) -> {
+                inFlight.release();
+                if (e != null) {
+                    batch.forEach(p -> p.result().completeExceptionally(e));
+                } else {
+                    complete(batch, res);
+                }
+            });
+    }
+
+    private static void complete(List<Pending> batch, HttpResponse<String> res) {
+        try {
+            JsonNode json = JSON.readTree(res.body());
+            if (res.statusCode() != 200) {
+                // the whole batch was rejected, e.g. too large
+                String message = json.path("message").asText("HTTP " + res.statusCode());
+                Result failed = new Result(res.statusCode(), null, false, false, 0, null, message);
+                batch.forEach(p -> p.result().complete(failed));
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(result(json.get(i)));
+            }
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+
+    private static Result result(JsonNode item) {
+        int status = item.get("status").asInt();
+        JsonNode r = item.get("result");
+        if (r == null || r.isNull()) {
+            return new Result(status, null, false, false, 0, null, item.path("message").asText(null));
+        }
+        JsonNode marks = r.get("marks");
+        Mark[] m = new Mark[marks.size()];
+        for (int i = 0; i < m.length; i++) {
+            m[i] = Mark.valueOf(marks.get(i).asText());
+        }
+        return new Result(status, m, r.get("hasWon").asBoolean(), r.get("isOver").asBoolean(),
+            r.get("turnsUsed").asInt(), r.path("answer").asText(null), null);
+    }
+
+    /**
+     * one empty batch first, so the client upgrades to h2c and every later
+     * batch shares the resulting connection instead of racing to open
+     * HTTP/1.1 connections of its own
+     *
+     * @return the protocol the server answered with
+     */
+    private HttpClient.Version connect() {
+        HttpRequest req = HttpRequest.newBuilder(batchUri)
+            .timeout(Duration.ofSeconds(5))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("[]"))
+            .build();
+        try {
+            HttpResponse<Void> res = client.send(req, HttpResponse.BodyHandlers.discarding());
+            if (res.statusCode() != 200) {
+                throw new IllegalStateException("batch endpoint answered HTTP " + res.statusCode());
+            }
+            return res.version();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot reach " + batchUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while connecting", e);
+        }
+    }
+}
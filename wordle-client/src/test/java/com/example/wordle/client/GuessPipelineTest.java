@@ -0,0 +1,116 @@
+package com.example.wordle.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.wordle.server.WordleServerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests {@link GuessPipeline} against the batch endpoint of a wordle-server
+ * started on a free port: one HTTP/2 connection, results matched to their
+ * guesses across concurrent batches, and per-guess errors.
+ */
+class GuessPipelineTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    private static ConfigurableApplicationContext server;
+    private static String base;
+
+    @BeforeAll
+    static void startServer() {
+        server = SpringApplication.run(WordleServerApplication.class,
+            "--server.port=0", "--wordle.mode=normal", "--wordle.maxTurns=6");
+        base = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    /**
+     * The pipeline should warm up to HTTP/2, so all its batches share one
+     * connection.
+     */
+    @Test
+    void connectsOverHttp2() {
+        assertEquals(HttpClient.Version.HTTP_2, new GuessPipeline(base, 10, 4).getVersion());
+    }
+
+    /**
+     * Full batches sent while others are still in flight should each get
+     * back the results of their own guesses.
+     */
+    @Test
+    void concurrentBatchesAnswerTheirOwnGuesses() throws Exception {
+        GuessPipeline pipeline = new GuessPipeline(base, 2, 2);
+        String gameId = post("/games").get("gameId");
+        List<CompletableFuture<GuessPipeline.Result>> results = new ArrayList<>();
+        // in the word lists of both wordle-core and wordle-server
+        String[] words = {"hello", "world", "quite", "fancy", "fresh", "crazy"};
+        for (String word : words) {
+            UUID playerId = UUID.fromString(post("/games/" + gameId + "/join").get("playerId"));
+            results.add(pipeline.submit(UUID.fromString(gameId), playerId, word));
+        }
+        pipeline.flush();
+
+        for (CompletableFuture<GuessPipeline.Result> f : results) {
+            GuessPipeline.Result r = f.get(10, TimeUnit.SECONDS);
+            assertTrue(r.isOk(), r.message());
+            assertEquals(5, r.marks().length);
+            assertEquals(1, r.turnsUsed(), "each player guessed once");
+        }
+    }
+
+    /**
+     * An invalid guess or an unknown game should fail alone, without
+     * failing the other guesses of its batch.
+     */
+    @Test
+    void badGuessesFailAlone() throws Exception {
+        GuessPipeline pipeline = new GuessPipeline(base, 3, 1);
+        UUID gameId = UUID.fromString(post("/games").get("gameId"));
+        UUID playerId = UUID.fromString(post("/games/" + gameId + "/join").get("playerId"));
+        CompletableFuture<GuessPipeline.Result> invalid = pipeline.submit(gameId, playerId, "zzzzz");
+        CompletableFuture<GuessPipeline.Result> unknown = pipeline.submit(UUID.randomUUID(), playerId, "hello");
+        CompletableFuture<GuessPipeline.Result> played = pipeline.submit(gameId, playerId, "hello");
+
+        GuessPipeline.Result r = invalid.get(10, TimeUnit.SECONDS);
+        assertEquals(400, r.status());
+        assertNotNull(r.message());
+        assertEquals(400, unknown.get(10, TimeUnit.SECONDS).status());
+        r = played.get(10, TimeUnit.SECONDS);
+        assertTrue(r.isOk(), r.message());
+        assertEquals(1, r.turnsUsed(), "the invalid guess used no turn");
+    }
+
+    private static Map<String, String> post(String path) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        HttpResponse<String> res = HTTP.send(req, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, res.statusCode(), res.body());
+        return JSON.readValue(res.body(), JSON.getTypeFactory().constructMapType(Map.class, String.class, String.class));
+    }
+}
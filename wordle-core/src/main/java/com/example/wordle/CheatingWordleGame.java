@@ -1,115 +1,312 @@
 package com.example.wordle;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.AbstractList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * A WordleGame variant that “cheats” by dynamically
  * keeping the answer as any word that yields the least
  * helpful feedback for the player.
+ * <p>
+ * Remaining candidates are a bitset over dictionary word ids, so a game
+ * costs size/8 bytes on top of the shared dictionary. Each guess buckets
+ * them by encoded feedback pattern into a 243-slot counts array, then
+ * narrows the bitset to the chosen bucket with the dictionary's letter masks.
+ * The candidate set lives in the game's immutable {@link WordleGame.State},
+ * so each guess narrows a copy and publishes it with the new state.
+ * Once the candidate count reaches the parallel threshold, the counting is
+ * split across a shared ForkJoinPool, each task filling its own histogram.
+ * An optional {@link PartitionListener} is told the size and cost of each
+ * partition; without one, nothing is timed. Partitions are also recorded as
+ * flight recorder events when a recording enables them.
  */
 public class CheatingWordleGame extends WordleGame {
-    private List<String> candidates;
+    /** pattern order for the host: fewest hits, then fewest presents */
+    private static final int[] RANK = new int[WordleScorer.PATTERN_COUNT];
+
+    static {
+        for (int p = 0; p < RANK.length; p++) {
+            RANK[p] = WordleScorer.count(p, WordleScorer.Mark.HIT) * 8
+                    + WordleScorer.count(p, WordleScorer.Mark.PRESENT);
+        }
+    }
+
+    /** default candidate count from which a guess is scored in parallel */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+    /** bitset words (64 ids each) scored by one parallel task */
+    private static final int WORDS_PER_TASK = 64;
+
+    private final FeedbackTable feedback;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final PartitionListener listener;
 
     public CheatingWordleGame(int maxTurns, String wordFile) throws IOException {
-        super(maxTurns, loadWordList(wordFile));
-        this.candidates = new ArrayList<>(loadWordList(wordFile));
+        this(maxTurns, Dictionary.load(wordFile));
+    }
+
+    public CheatingWordleGame(int maxTurns, Dictionary dictionary) {
+        this(maxTurns, dictionary, null);
+    }
+
+    /**
+     * @param feedback precomputed patterns for this dictionary, or null to
+     *                 score every candidate on the fly
+     */
+    public CheatingWordleGame(int maxTurns, Dictionary dictionary, FeedbackTable feedback) {
+        this(maxTurns, dictionary, feedback, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param feedback          precomputed patterns, or null to score on the fly
+     * @param pool              pool shared by all games for parallel scoring
+     * @param parallelThreshold candidate count from which scoring runs in the pool
+     */
+    public CheatingWordleGame(int maxTurns, Dictionary dictionary, FeedbackTable feedback,
+                              ForkJoinPool pool, int parallelThreshold) {
+        this(maxTurns, dictionary, feedback, pool, parallelThreshold, null);
     }
+
+    /**
+     * @param listener told about every partition of this game and the games
+     *                 created from it, or null
+     */
+    public CheatingWordleGame(int maxTurns, Dictionary dictionary, FeedbackTable feedback,
+                              ForkJoinPool pool, int parallelThreshold, PartitionListener listener) {
+        super(maxTurns, dictionary, new State(maxTurns <= 0, null,
+            WordBits.full(dictionary.size()), dictionary.size()));
+        if (feedback != null && feedback.size() != dictionary.size()) {
+            throw new IllegalArgumentException("Feedback table was built for another dictionary");
+        }
+        this.feedback = feedback;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.listener = listener;
+    }
+
     @Override
-    public List<String> getWordList() {
-        return candidates;
+    public WordleGame newGame() {
+        return new CheatingWordleGame(maxTurns, dictionary, feedback, pool, parallelThreshold, listener);
     }
 
+    /**
+     * The answer is picked by the host as guesses come in, so a given
+     * answer is ignored.
+     */
     @Override
-    public boolean guess(String word) {
-        if (isOver()) {
-            throw new IllegalStateException("Game over");
-        }
-        if (word == null || word.length() != 5 || !this.wordList.contains(word)) {
-            throw new IllegalArgumentException(
-                "Invalid guess: must be 5 letters and in the word list");
+    public WordleGame newGame(int answerId) {
+        return newGame();
+    }
+
+    /**
+     * @return view of the candidate words remaining at the time of the call,
+     *         in dictionary order; words are looked up only as they are read
+     */
+    @Override
+    public List<String> getWordList() {
+        State current = getState();
+        long[] candidates = current.candidates;
+        int candidateCount = current.candidateCount;
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= candidateCount) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return dictionary.getWord(WordBits.select(candidates, index));
+            }
+
+            @Override
+            public int size() {
+                return candidateCount;
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<>() {
+                    private int next = WordBits.next(candidates, 0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public String next() {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        String word = dictionary.getWord(next);
+                        next = WordBits.next(candidates, next + 1);
+                        return word;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * How a guess partitioned the candidates, kept with the state it
+     * produced so it is reported only once that state is accepted.
+     */
+    static final class Partition {
+        final int buckets;
+        final long nanos;
+        // filled in and ended, committed once the guess is accepted; null unless recorded
+        final PartitionEvent event;
+
+        Partition(int buckets, long nanos, PartitionEvent event) {
+            this.buckets = buckets;
+            this.nanos = nanos;
+            this.event = event;
         }
+    }
+
+    /**
+     * Bucket the current candidates and keep the least helpful bucket in a
+     * new candidate set; the current state is only read.
+     */
+    @Override
+    protected State advance(State current, int guessId) {
+        long[] candidates = current.candidates;
+        PartitionEvent event = new PartitionEvent();
+        event.begin();
+        long start = listener == null ? 0 : System.nanoTime();
 
         // 1. Increment turn
-        turnsUsed++;
-
-        // 2. Bucket candidates by the feedback pattern
-        Map<String, List<String>> buckets = new HashMap<>();
-        WordleScorer scorer = new WordleScorer();
-        for (String cand : candidates) {
-            WordleScorer.Mark[] marks = scorer.score(word, cand);
-            String key = patternKey(marks);
-            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(cand);
-        }
+        int turnsUsed = current.getTurnsUsed() + 1;
 
-        // 3. Pick the “least helpful” pattern: fewest hits, then fewest presents
-        String bestKey = buckets.keySet().stream()
-            .min(Comparator
-                .comparingInt(this::countHits)
-                .thenComparingInt(this::countPresents))
-            .orElseThrow();
+        // 2. Count candidates per feedback pattern
+        boolean parallel = current.candidateCount >= parallelThreshold;
+        int[] counts = parallel
+            ? pool.invoke(new HistogramTask(candidates, guessId, 0, candidates.length))
+            : histogram(candidates, guessId, 0, candidates.length);
 
-        // 4. Update candidates to that bucket
-        candidates = buckets.get(bestKey);
+        // 3. Pick the “least helpful” pattern: fewest hits, then fewest presents
+        int best = -1;
+        int buckets = 0;
+        for (int p = 0; p < counts.length; p++) {
+            if (counts[p] > 0) {
+                buckets++;
+                if (best < 0 || RANK[p] < RANK[best]) {
+                    best = p;
+                }
+            }
+        }
 
-        // 5. Update lastMarks for external inspection
-        this.lastMarks = parsePatternKey(bestKey);
+        // 4. Narrow a copy of the candidates to that bucket
+        long[] narrowed = candidates.clone();
+        dictionary.getLetterMasks().narrow(narrowed, dictionary.getPacked(guessId), best);
+        event.end();
+        boolean record = event.shouldCommit();
+        if (record) {
+            event.game = getLabel();
+            event.candidates = current.candidateCount;
+            event.buckets = buckets;
+            event.kept = counts[best];
+            event.parallel = parallel;
+            event.table = feedback != null;
+        }
+        Partition partition = listener == null && !record ? null
+            : new Partition(buckets, listener == null ? 0 : System.nanoTime() - start, record ? event : null);
 
-        // 6. Win condition: all hits
-        if (isAllHit(this.lastMarks)) {
+        // 5. Win condition: all hits
+        if (best == WordleScorer.ALL_HIT) {
             // ensure answer is set to the guessed candidate
-            this.answer = candidates.get(0);
-            this.won = true;
-            return true;
+            String answer = dictionary.getWord(WordBits.next(narrowed, 0));
+            return new State(current, guessId, best, true, true, answer, narrowed, counts[best], partition);
         }
 
-        // 7. Loss condition: out of turns
+        // 6. Loss condition: out of turns
         if (turnsUsed >= maxTurns) {
             // expose a final answer from the remaining candidates
-            this.answer = candidates.get(0);
-            return false;
+            String answer = dictionary.getWord(WordBits.next(narrowed, 0));
+            return new State(current, guessId, best, false, true, answer, narrowed, counts[best], partition);
         }
 
-        return false;
+        return new State(current, guessId, best, false, false, null, narrowed, counts[best], partition);
     }
 
-    private String patternKey(WordleScorer.Mark[] marks) {
-        return Arrays.stream(marks)
-                     .map(Enum::name)
-                     .collect(Collectors.joining(","));
+    /**
+     * Report the partition behind an accepted guess to the listener and the
+     * flight recorder.
+     */
+    @Override
+    protected void played(State previous, State next) {
+        Partition partition = next.partition;
+        if (partition == null) {
+            return;
+        }
+        if (partition.event != null) {
+            partition.event.commit();
+        }
+        if (listener != null) {
+            listener.partitioned(previous.candidateCount, partition.buckets, next.candidateCount, partition.nanos);
+        }
     }
 
-    private WordleScorer.Mark[] parsePatternKey(String key) {
-        String[] parts = key.split(",");
-        WordleScorer.Mark[] marks = new WordleScorer.Mark[parts.length];
-        for (int i = 0; i < parts.length; i++) {
-            marks[i] = WordleScorer.Mark.valueOf(parts[i]);
+    /**
+     * count the candidates in bitset words [fromWord, toWord) per pattern
+     */
+    private int[] histogram(long[] candidates, int guessId, int fromWord, int toWord) {
+        int[] counts = new int[WordleScorer.PATTERN_COUNT];
+        for (int w = fromWord; w < toWord; w++) {
+            long bits = candidates[w];
+            while (bits != 0) {
+                int id = (w << 6) + Long.numberOfTrailingZeros(bits);
+                counts[pattern(guessId, id)]++;
+                bits &= bits - 1;
+            }
         }
-        return marks;
+        return counts;
     }
 
-    private int countHits(String key) {
-        return (int) Arrays.stream(parsePatternKey(key))
-                           .filter(m -> m == WordleScorer.Mark.HIT)
-                           .count();
-    }
+    /**
+     * splits the bitset in halves until a range is small enough to count
+     * directly, then merges the per-task histograms
+     */
+    private final class HistogramTask extends RecursiveTask<int[]> {
+        private final long[] candidates;
+        private final int guessId;
+        private final int fromWord;
+        private final int toWord;
 
-    private int countPresents(String key) {
-        return (int) Arrays.stream(parsePatternKey(key))
-                           .filter(m -> m == WordleScorer.Mark.PRESENT)
-                           .count();
+        HistogramTask(long[] candidates, int guessId, int fromWord, int toWord) {
+            this.candidates = candidates;
+            this.guessId = guessId;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (toWord - fromWord <= WORDS_PER_TASK) {
+                return histogram(candidates, guessId, fromWord, toWord);
+            }
+            int mid = (fromWord + toWord) >>> 1;
+            HistogramTask right = new HistogramTask(candidates, guessId, mid, toWord);
+            right.fork();
+            int[] counts = new HistogramTask(candidates, guessId, fromWord, mid).compute();
+            int[] other = right.join();
+            for (int p = 0; p < counts.length; p++) {
+                counts[p] += other[p];
+            }
+            return counts;
+        }
     }
 
-    private boolean isAllHit(WordleScorer.Mark[] marks) {
-        for (WordleScorer.Mark m : marks) {
-            if (m != WordleScorer.Mark.HIT) return false;
+    /**
+     * feedback for a (guess, answer) pair: table lookup when available
+     */
+    private int pattern(int guessId, int answerId) {
+        if (feedback != null) {
+            return feedback.pattern(guessId, answerId);
         }
-        return true;
+        return WordleScorer.scorePacked(dictionary.getPacked(guessId), dictionary.getPacked(answerId));
     }
 }
@@ -0,0 +1,279 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed {@link Solver} hints for the first plies of a game on one
+ * dictionary. The root holds the opening hint; below it, each node holds the
+ * hint after its parent's best guess got a given feedback pattern, so the
+ * hints of the largest (and slowest) candidate sets become lookups.
+ * <p>
+ * A tree is built once, e.g. with {@code wordle-cli tree}, written to a file
+ * and memory-mapped by every process using the dictionary. It only answers
+ * for players who followed its best guess so far; anything else is ranked
+ * as usual.
+ * <p>
+ * File layout (little endian):
+ * <pre>
+ *   0  magic        int   "WDTC"
+ *   4  version      byte
+ *   5  strategy     byte  {@link Solver.Strategy} ordinal
+ *   6  plies        byte  levels of guesses in the tree
+ *   7  width        byte  suggestions per node
+ *   8  fingerprint  long  {@link Dictionary#getFingerprint()}
+ *  16  words        int   dictionary size
+ *  20  nodes        int
+ *  24  root node
+ * </pre>
+ * A node is {@code remaining int, count int, children int} followed by
+ * {@code width} suggestions of {@code id int, worstCase int, entropy double},
+ * with the top bit of worstCase set for candidates. children is the offset of
+ * 243 node offsets, one per pattern of the node's best guess (0 where no
+ * word gives that pattern), or 0 on the last ply.
+ */
+public final class DecisionTree {
+    private static final int MAGIC = 0x57445443; // "WDTC"
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int NODE_HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 16;
+    private static final int CHILDREN_BYTES = 4 * WordleScorer.PATTERN_COUNT;
+    private static final int CANDIDATE = 0x8000_0000;
+
+    private final ByteBuffer tree;
+    private final Dictionary dictionary;
+    private final Solver.Strategy strategy;
+    private final int plies;
+    private final int width;
+    private final int nodes;
+    private final boolean mapped;
+
+    private DecisionTree(ByteBuffer tree, Dictionary dictionary, boolean mapped) {
+        this.tree = tree;
+        this.dictionary = dictionary;
+        this.strategy = Solver.Strategy.values()[tree.get(5)];
+        this.plies = tree.get(6);
+        this.width = tree.get(7) & 0xFF;
+        this.nodes = tree.getInt(20);
+        this.mapped = mapped;
+    }
+
+    /**
+     * Rank the opening and, for every pattern of the best guess, the next
+     * ply, down to the given depth.
+     *
+     * @param plies levels of guesses to precompute, at least 1
+     * @param width suggestions kept per node, 1 to {@link Solver#MAX_SUGGESTIONS}
+     */
+    public static DecisionTree build(Solver solver, Solver.Strategy strategy, int plies, int width) {
+        if (plies < 1 || plies > Byte.MAX_VALUE || width < 1 || width > Solver.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("plies must be at least 1 and width 1 to " + Solver.MAX_SUGGESTIONS);
+        }
+        Dictionary dictionary = solver.getDictionary();
+        Node root = node(solver, strategy, WordBits.full(dictionary.size()), 1, plies, width);
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + root.bytes(width)).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC)
+            .put(VERSION)
+            .put((byte) strategy.ordinal())
+            .put((byte) plies)
+            .put((byte) width)
+            .putLong(dictionary.getFingerprint())
+            .putInt(dictionary.size())
+            .putInt(root.count());
+        root.write(out, width);
+        return new DecisionTree(out.flip(), dictionary, false);
+    }
+
+    /**
+     * Map a tree file written by {@link #write(Path)}.
+     *
+     * @return the tree, or null if it was built for another dictionary
+     */
+    public static DecisionTree map(Path file, Dictionary dictionary) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_BYTES || ch.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer tree = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if (tree.getInt(0) != MAGIC || tree.get(4) != VERSION
+                    || tree.getLong(8) != dictionary.getFingerprint() || tree.getInt(16) != dictionary.size()) {
+                return null;
+            }
+            if (tree.get(5) < 0 || tree.get(5) >= Solver.Strategy.values().length) {
+                throw new IOException("Corrupt decision tree " + file);
+            }
+            return new DecisionTree(tree, dictionary, true);
+        }
+    }
+
+    /**
+     * Write the tree to file, replacing it atomically.
+     */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer body = tree.duplicate().clear();
+            while (body.hasRemaining()) {
+                ch.write(body);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Solver.Strategy getStrategy() {
+        return strategy;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getNodeCount() {
+        return nodes;
+    }
+
+    public long getSizeBytes() {
+        return tree.capacity();
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * @param guessIds guesses so far, oldest first
+     * @param patterns their feedback
+     * @return the precomputed hint, or null unless the guesses followed the
+     *         tree's best guesses and the tree holds enough suggestions
+     */
+    Solver.Hint lookup(int[] guessIds, int[] patterns, Solver.Strategy strategy, int limit) {
+        if (strategy != this.strategy || limit > width || guessIds.length >= plies) {
+            return null;
+        }
+        int node = HEADER_BYTES;
+        for (int i = 0; i < guessIds.length; i++) {
+            int children = tree.getInt(node + 8);
+            if (children == 0 || tree.getInt(node + NODE_HEADER_BYTES) != guessIds[i]) {
+                return null;
+            }
+            node = tree.getInt(children + 4 * patterns[i]);
+            if (node == 0) {
+                return null;
+            }
+        }
+        int count = Math.min(limit, tree.getInt(node + 4));
+        List<Solver.Suggestion> suggestions = new ArrayList<>(count);
+        for (int i = 0, e = node + NODE_HEADER_BYTES; i < count; i++, e += ENTRY_BYTES) {
+            int worst = tree.getInt(e + 4);
+            suggestions.add(new Solver.Suggestion(dictionary.getWord(tree.getInt(e)), tree.getDouble(e + 8),
+                worst & ~CANDIDATE, (worst & CANDIDATE) != 0));
+        }
+        return new Solver.Hint(tree.getInt(node), suggestions);
+    }
+
+    /**
+     * a node while building: its hint, the dictionary ids of the suggestions
+     * and the child per pattern of the best guess
+     */
+    private record Node(Solver.Hint hint, int[] ids, Node[] children) {
+
+        int count() {
+            int count = 1;
+            if (children != null) {
+                for (Node child : children) {
+                    count += child == null ? 0 : child.count();
+                }
+            }
+            return count;
+        }
+
+        int bytes(int width) {
+            int bytes = NODE_HEADER_BYTES + width * ENTRY_BYTES;
+            if (children != null) {
+                bytes += CHILDREN_BYTES;
+                for (Node child : children) {
+                    bytes += child == null ? 0 : child.bytes(width);
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * write this node and, depth first, its children at the buffer's position
+         */
+        void write(ByteBuffer out, int width) {
+            int at = out.position();
+            List<Solver.Suggestion> suggestions = hint.suggestions();
+            out.putInt(hint.remaining())
+                .putInt(suggestions.size())
+                .putInt(children == null ? 0 : at + NODE_HEADER_BYTES + width * ENTRY_BYTES);
+            for (int i = 0; i < width; i++) {
+                if (i < suggestions.size()) {
+                    Solver.Suggestion s = suggestions.get(i);
+                    out.putInt(ids[i])
+                        .putInt(s.worstCase() | (s.candidate() ? CANDIDATE : 0))
+                        .putDouble(s.entropy());
+                } else {
+                    out.putInt(0).putInt(0).putDouble(0);
+                }
+            }
+            if (children == null) {
+                return;
+            }
+            int table = out.position();
+            out.position(table + CHILDREN_BYTES);
+            for (int p = 0; p < children.length; p++) {
+                int child = 0;
+                if (children[p] != null) {
+                    child = out.position();
+                    children[p].write(out, width);
+                }
+                out.putInt(table + 4 * p, child);
+            }
+        }
+    }
+
+    private static Node node(Solver solver, Solver.Strategy strategy, long[] candidates, int ply, int plies, int width) {
+        Dictionary dictionary = solver.getDictionary();
+        Solver.Hint hint = solver.rank(candidates, strategy, width);
+        int[] ids = new int[hint.suggestions().size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.indexOf(hint.suggestions().get(i).word());
+        }
+        if (ply == plies || hint.remaining() <= 1) {
+            return new Node(hint, ids, null);
+        }
+        // bucket the candidates by the feedback of the best guess
+        long[][] buckets = new long[WordleScorer.PATTERN_COUNT][];
+        int guess = dictionary.getPacked(ids[0]);
+        for (int id = WordBits.next(candidates, 0); id >= 0; id = WordBits.next(candidates, id + 1)) {
+            int p = WordleScorer.scorePacked(guess, dictionary.getPacked(id));
+            if (buckets[p] == null) {
+                buckets[p] = WordBits.empty(dictionary.size());
+            }
+            WordBits.set(buckets[p], id);
+        }
+        Node[] children = new Node[WordleScorer.PATTERN_COUNT];
+        for (int p = 0; p < buckets.length; p++) {
+            // nothing to suggest once the guess was right
+            if (buckets[p] != null && p != WordleScorer.ALL_HIT) {
+                children[p] = node(solver, strategy, buckets[p], ply + 1, plies, width);
+            }
+        }
+        return new Node(hint, ids, children);
+    }
+}
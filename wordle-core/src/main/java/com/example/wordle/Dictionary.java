@@ -0,0 +1,255 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable word list shared by every game built from the same source.
+ * Games only keep a reference to it, so a dictionary is read and parsed
+ * once no matter how many games or players use it.
+ * <p>
+ * Each word gets an id (its position in the file) and a packed form
+ * (see {@link PackedWord}); membership checks go through a primitive
+ * hash index and run in constant time without allocating.
+ * <p>
+ * Word files are read by {@link DictionaryLoader}, from the classpath or,
+ * with a {@code file:} prefix, from the filesystem.
+ */
+public final class Dictionary {
+    private static final Map<String, Dictionary> LOADED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final List<String> words;
+    private final int[] packed;
+    private final WordIndex index;
+    private final long fingerprint;
+    private final DictionaryLoader.Report report;
+    private volatile LetterMasks letterMasks;
+
+    /**
+     * @param words  unmodifiable words, by id, or null to unpack them from
+     *               packed on demand instead of keeping a String per word
+     * @param packed the packed words
+     * @param report how the words were loaded, or null
+     */
+    Dictionary(String name, List<String> words, int[] packed, DictionaryLoader.Report report) {
+        if (packed.length == 0) {
+            throw new IllegalArgumentException("Dictionary " + name + " is empty");
+        }
+        this.name = name;
+        this.packed = packed;
+        this.index = new WordIndex(packed);
+        this.words = words != null ? words : new PackedWords();
+        this.fingerprint = fingerprint(packed);
+        this.report = report;
+    }
+
+    private Dictionary(Dictionary words, DictionaryLoader.Report report) {
+        this.name = words.name;
+        this.words = words.words;
+        this.packed = words.packed;
+        this.index = words.index;
+        this.fingerprint = words.fingerprint;
+        this.report = report;
+    }
+
+    /**
+     * @return this dictionary's words with a load report attached
+     */
+    Dictionary withReport(DictionaryLoader.Report report) {
+        return new Dictionary(this, report);
+    }
+
+    /**
+     * 64-bit FNV-1a hash over the packed words in id order.
+     */
+    private static long fingerprint(int[] packed) {
+        long hash = 0xcbf29ce484222325L;
+        for (int word : packed) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                hash ^= (word >>> shift) & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Return the dictionary for a source, reading it on first use and
+     * handing out the same instance afterwards.
+     *
+     * @param wordFile a classpath resource, or a path prefixed with {@code file:}
+     * @see DictionaryLoader
+     */
+    public static Dictionary load(String wordFile) throws IOException {
+        try {
+            return LOADED.computeIfAbsent(wordFile, f -> {
+                try {
+                    return read(f);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read a fresh dictionary from a source, bypassing the cache.
+     */
+    public static Dictionary read(String wordFile) throws IOException {
+        return DictionaryLoader.load(wordFile);
+    }
+
+    /**
+     * Build a dictionary from an in-memory word list. As when loading a
+     * file, a repeated word keeps the id of its first occurrence, so every
+     * id can be reached by a guess.
+     *
+     * @throws IllegalArgumentException if a word is not 5 letters a-z
+     */
+    public static Dictionary of(String name, Collection<String> words) {
+        List<String> list = List.copyOf(new LinkedHashSet<>(words));
+        int[] packed = new int[list.size()];
+        for (int id = 0; id < packed.length; id++) {
+            packed[id] = PackedWord.pack(list.get(id));
+            if (packed[id] == PackedWord.INVALID) {
+                throw new IllegalArgumentException(
+                    "Dictionary " + name + " has invalid word '" + list.get(id) + "'");
+            }
+        }
+        return new Dictionary(name, list, packed, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return hash of the words and their ids; caches built from this
+     *         dictionary are only valid for the same fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * @return what loading the source found and cost, or null for a
+     *         dictionary built in memory
+     */
+    public DictionaryLoader.Report getLoadReport() {
+        return report;
+    }
+
+    /**
+     * @return approximate heap held by the words, their packed forms and
+     *         the index, assuming compressed object pointers
+     */
+    public long getResidentBytes() {
+        // per kept word: a String (24) with its 5-byte array (24) and a list slot (4)
+        long strings = words instanceof PackedWords ? 0 : 52L * words.size();
+        return strings + 4L * packed.length + index.getResidentBytes();
+    }
+
+    public String getWord(int id) {
+        return words.get(id);
+    }
+
+    /**
+     * @return the packed form of the word with this id
+     */
+    public int getPacked(int id) {
+        return packed[id];
+    }
+
+    /**
+     * @return the id of the word, or -1 if it is not in the dictionary
+     */
+    public int indexOf(String word) {
+        return index.indexOf(PackedWord.pack(word));
+    }
+
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Build the indexes that are otherwise built on first use, so a
+     * dictionary can be made ready before any game or solver touches it.
+     *
+     * @return this dictionary
+     */
+    public Dictionary prepare() {
+        getLetterMasks();
+        return this;
+    }
+
+    /**
+     * Letter masks for bitset narrowing, built on first use since only
+     * cheating games and solvers need them.
+     */
+    LetterMasks getLetterMasks() {
+        LetterMasks masks = letterMasks;
+        if (masks == null) {
+            synchronized (this) {
+                masks = letterMasks;
+                if (masks == null) {
+                    masks = new LetterMasks(this);
+                    letterMasks = masks;
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * @return unmodifiable view of all words, in file order
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * the words of a loaded dictionary: unpacked when read, looked up in
+     * the index
+     */
+    private final class PackedWords extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int id) {
+            return PackedWord.unpack(packed[id]);
+        }
+
+        @Override
+        public int size() {
+            return packed.length;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof String ? Dictionary.this.indexOf((String) o) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads word files into a {@link Dictionary}, parsing bytes straight into
+ * packed words: no String is created per line, and the dictionary keeps
+ * only the packed words, unpacking a word when it is read.
+ * <p>
+ * A source is a classpath resource, or a filesystem path with a
+ * {@code file:} prefix. Files are memory-mapped, in chunks if they are very
+ * large; names ending in {@code .gz} are decompressed while streaming.
+ * <p>
+ * Each line holds one 5-letter word. Surrounding whitespace and a Windows
+ * line end are ignored and upper case is folded to lower case. Blank lines
+ * are skipped, malformed lines (wrong length, other characters) are
+ * rejected and duplicates keep their first id; all three are counted in the
+ * {@link Report}.
+ */
+public final class DictionaryLoader {
+    /** prefix of filesystem sources */
+    public static final String FILE_PREFIX = "file:";
+    /** line numbers of malformed lines kept in a report */
+    public static final int MAX_MALFORMED_LINES = 10;
+
+    private static final int CHUNK_BYTES = 1 << 30;
+    private static final int STREAM_BUFFER_BYTES = 1 << 16;
+
+    private DictionaryLoader() {
+    }
+
+    /**
+     * What a load found and cost.
+     *
+     * @param bytes          bytes parsed, after decompression
+     * @param lines          lines in the source
+     * @param words          distinct words kept
+     * @param duplicates     lines repeating an earlier word
+     * @param blank          empty or whitespace-only lines
+     * @param malformed      lines rejected as not a 5-letter word
+     * @param malformedLines the first {@link #MAX_MALFORMED_LINES} of those, 1-based
+     * @param nanos          time to read, parse and index the source
+     * @param residentBytes  approximate heap held by the dictionary
+     */
+    public record Report(String source, long bytes, int lines, int words, int duplicates, int blank,
+                         int malformed, List<Integer> malformedLines, long nanos, long residentBytes) {
+
+        /**
+         * @return a one-line summary for logs
+         */
+        public String summary() {
+            return String.format("%s: %d words from %d lines (%d duplicate, %d blank, %d malformed%s)"
+                    + " in %.1f ms, %.1f MB parsed, %.1f MB resident",
+                source, words, lines, duplicates, blank, malformed,
+                malformedLines.isEmpty() ? "" : " at lines " + malformedLines,
+                nanos / 1e6, bytes / 1e6, residentBytes / 1e6);
+        }
+    }
+
+    /**
+     * Read a source into a new dictionary named after it.
+     *
+     * @throws IOException              if the source cannot be read
+     * @throws IllegalStateException    if a classpath resource does not exist
+     * @throws IllegalArgumentException if the source holds no valid word
+     */
+    public static Dictionary load(String source) throws IOException {
+        long start = System.nanoTime();
+        Parser parser;
+        if (source.startsWith(FILE_PREFIX)) {
+            Path file = Paths.get(source.substring(FILE_PREFIX.length()));
+            if (isGzip(source)) {
+                parser = new Parser(0);
+                try (InputStream in = Files.newInputStream(file)) {
+                    stream(new GZIPInputStream(in, STREAM_BUFFER_BYTES), parser);
+                }
+            } else {
+                parser = map(file);
+            }
+        } else {
+            parser = new Parser(0);
+            try (InputStream in = DictionaryLoader.class.getClassLoader().getResourceAsStream(source)) {
+                if (in == null) {
+                    throw new IllegalStateException(source + " not found on classpath");
+                }
+                stream(isGzip(source) ? new GZIPInputStream(in, STREAM_BUFFER_BYTES) : in, parser);
+            }
+        }
+        parser.finish();
+        int[] packed = parser.size == parser.packed.length ? parser.packed : Arrays.copyOf(parser.packed, parser.size);
+        Dictionary dictionary = new Dictionary(source, null, packed, null);
+        Report report = new Report(source, parser.bytes, parser.lines, packed.length, parser.duplicates,
+            parser.blank, parser.malformed, List.copyOf(parser.malformedLines), System.nanoTime() - start,
+            dictionary.getResidentBytes());
+        return dictionary.withReport(report);
+    }
+
+    private static boolean isGzip(String source) {
+        return source.endsWith(".gz");
+    }
+
+    private static Parser map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            // sized for a word and a line end per 6 bytes
+            Parser parser = new Parser((int) Math.min(size / 6, 1 << 24));
+            for (long at = 0; at < size; at += CHUNK_BYTES) {
+                parser.accept(ch.map(FileChannel.MapMode.READ_ONLY, at, Math.min(CHUNK_BYTES, size - at)));
+            }
+            return parser;
+        }
+    }
+
+    private static void stream(InputStream in, Parser parser) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_BYTES];
+        for (int n; (n = in.read(buffer)) >= 0; ) {
+            parser.accept(ByteBuffer.wrap(buffer, 0, n));
+        }
+    }
+
+    /**
+     * line parser fed with consecutive chunks of the source; a line may
+     * span chunks
+     */
+    private static final class Parser {
+        private static final int[] BOM = {0xEF, 0xBB, 0xBF};
+
+        int[] packed;
+        int size;
+        long bytes;
+        int lines;
+        int duplicates;
+        int blank;
+        int malformed;
+        final List<Integer> malformedLines = new ArrayList<>();
+
+        /** distinct packed words so far, open addressing, 0 is empty */
+        private int[] seen;
+        /** the current line: its letters so far, packed */
+        private int word;
+        private int length;
+        /** whitespace followed the letters */
+        private boolean trailing;
+        private boolean bad;
+
+        /**
+         * @param expectedWords initial capacity, 0 if unknown
+         */
+        Parser(int expectedWords) {
+            int capacity = Math.max(1024, expectedWords);
+            this.packed = new int[capacity];
+            this.seen = new int[Integer.highestOneBit(capacity - 1) << 2];
+        }
+
+        void accept(ByteBuffer chunk) {
+            int i = chunk.position();
+            int end = chunk.limit();
+            if (bytes == 0 && end - i >= BOM.length && (chunk.get(i) & 0xFF) == BOM[0]
+                    && (chunk.get(i + 1) & 0xFF) == BOM[1] && (chunk.get(i + 2) & 0xFF) == BOM[2]) {
+                // UTF-8 byte order mark
+                i += BOM.length;
+            }
+            bytes += chunk.remaining();
+            for (; i < end; i++) {
+                int b = chunk.get(i) & 0xFF;
+                if (b == '\n') {
+                    endLine();
+                } else if (b == ' ' || b == '\t' || b == '\r') {
+                    trailing = length > 0;
+                } else if (!bad) {
+                    if (b >= 'A' && b <= 'Z') {
+                        b += 'a' - 'A';
+                    }
+                    if (b < 'a' || b > 'z' || trailing || length == PackedWord.LENGTH) {
+                        bad = true;
+                    } else {
+                        word |= (b - 'a' + 1) << (5 * length++);
+                    }
+                }
+            }
+        }
+
+        void finish() {
+            if (length > 0 || bad) {
+                endLine();
+            }
+        }
+
+        private void endLine() {
+            lines++;
+            if (length == 0 && !bad) {
+                blank++;
+            } else if (length == PackedWord.LENGTH && !bad) {
+                add(word);
+            } else {
+                malformed++;
+                if (malformedLines.size() < MAX_MALFORMED_LINES) {
+                    malformedLines.add(lines);
+                }
+            }
+            word = 0;
+            length = 0;
+            trailing = false;
+            bad = false;
+        }
+
+        private void add(int word) {
+            int mask = seen.length - 1;
+            int slot = slot(word);
+            while (seen[slot] != 0) {
+                if (seen[slot] == word) {
+                    duplicates++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            seen[slot] = word;
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = word;
+            if (size * 2 > seen.length) {
+                rehash();
+            }
+        }
+
+        private void rehash() {
+            int[] old = seen;
+            seen = new int[old.length * 2];
+            int mask = seen.length - 1;
+            for (int word : old) {
+                if (word != 0) {
+                    int slot = slot(word);
+                    while (seen[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    seen[slot] = word;
+                }
+            }
+        }
+
+        private int slot(int word) {
+            // Fibonacci hashing, as in WordIndex: the low bits of a packed
+            // word are its first letters, so take the top bits of the product
+            return (word * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(seen.length - 1);
+        }
+    }
+}
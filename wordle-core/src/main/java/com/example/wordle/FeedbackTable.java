@@ -0,0 +1,164 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed feedback pattern for every (guess, answer) pair of a dictionary,
+ * one byte per pair, so scoring becomes a single lookup.
+ * <p>
+ * The table takes size^2 bytes (about 170 MB for 13k words). It can be kept
+ * on the heap or written to a cache file and memory-mapped, in which case it
+ * lives in the page cache and is shared between processes.
+ */
+public final class FeedbackTable {
+    private static final int MAGIC = 0x57464254; // "WFBT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    /** largest dictionary whose table still fits in one buffer */
+    public static final int MAX_WORDS = 46_340;
+
+    private final int size;
+    private final ByteBuffer patterns;
+    private final long buildMillis;
+    private final boolean mapped;
+
+    private FeedbackTable(int size, ByteBuffer patterns, long buildMillis, boolean mapped) {
+        this.size = size;
+        this.patterns = patterns;
+        this.buildMillis = buildMillis;
+        this.mapped = mapped;
+    }
+
+    /**
+     * Build the table on the heap, scoring rows in parallel.
+     */
+    public static FeedbackTable build(Dictionary dictionary) {
+        long start = System.nanoTime();
+        byte[] table = fill(dictionary);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new FeedbackTable(dictionary.size(), ByteBuffer.wrap(table), millis, false);
+    }
+
+    /**
+     * Map the table from cacheFile if it was built for this dictionary,
+     * otherwise build it, write it to cacheFile and map the result.
+     */
+    public static FeedbackTable loadOrBuild(Dictionary dictionary, Path cacheFile) throws IOException {
+        long start = System.nanoTime();
+        if (Files.exists(cacheFile)) {
+            FeedbackTable cached = map(dictionary, cacheFile, start);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] table = fill(dictionary);
+        Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = header(dictionary);
+            while (header.hasRemaining()) {
+                ch.write(header);
+            }
+            ByteBuffer body = ByteBuffer.wrap(table);
+            while (body.hasRemaining()) {
+                ch.write(body);
+            }
+        }
+        Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FeedbackTable written = map(dictionary, cacheFile, start);
+        if (written == null) {
+            throw new IOException("Feedback table cache " + cacheFile + " is unreadable");
+        }
+        return written;
+    }
+
+    /**
+     * @return the pattern of guessId scored against answerId, 0..242
+     */
+    public int pattern(int guessId, int answerId) {
+        return patterns.get(guessId * size + answerId) & 0xFF;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return bytes held by the table, on the heap or mapped
+     */
+    public long getSizeBytes() {
+        return (long) size * size;
+    }
+
+    /**
+     * @return time spent building or mapping the table
+     */
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    private static byte[] fill(Dictionary dictionary) {
+        int n = dictionary.size();
+        if (n > MAX_WORDS) {
+            throw new IllegalArgumentException(
+                "Dictionary too large for a feedback table: " + n + " > " + MAX_WORDS);
+        }
+        int[] packed = new int[n];
+        for (int id = 0; id < n; id++) {
+            packed[id] = dictionary.getPacked(id);
+        }
+        byte[] table = new byte[n * n];
+        IntStream.range(0, n).parallel().forEach(g -> {
+            int row = g * n;
+            int guess = packed[g];
+            for (int a = 0; a < n; a++) {
+                table[row + a] = (byte) WordleScorer.scorePacked(guess, packed[a]);
+            }
+        });
+        return table;
+    }
+
+    private static ByteBuffer header(Dictionary dictionary) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+              .putInt(VERSION)
+              .putLong(dictionary.getFingerprint())
+              .putInt(dictionary.size())
+              .putInt(0);
+        return header.flip();
+    }
+
+    /**
+     * @return the mapped table, or null if the file was built for another dictionary
+     */
+    private static FeedbackTable map(Dictionary dictionary, Path cacheFile, long start) throws IOException {
+        int n = dictionary.size();
+        try (FileChannel ch = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            if (ch.size() != HEADER_BYTES + (long) n * n) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            if (!header.flip().equals(header(dictionary))) {
+                return null;
+            }
+            ByteBuffer body = ch.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) n * n);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new FeedbackTable(n, body, millis, true);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.wordle;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of a game, for checkpointing it or moving it to
+ * another process. A snapshot holds ids into the dictionary rather than
+ * words, so it can only be restored against a dictionary with the same
+ * fingerprint, into a game of the same kind and maxTurns.
+ * <p>
+ * Layout (28 bytes + 4 per guess, in the buffer's byte order):
+ * <pre>
+ *   0  magic        int   "WGSN"
+ *   4  version      byte
+ *   5  kind         byte  0 normal, 1 cheating
+ *   6  reserved     short
+ *   8  fingerprint  long  {@link Dictionary#getFingerprint()}
+ *  16  maxTurns     int
+ *  20  answerId     int   -1 while a cheating host has not fixed the answer
+ *  24  turns        int
+ *  28  guess ids    int[turns], oldest first
+ * </pre>
+ * A cheating game is restored by replaying its guesses, which narrows the
+ * candidates exactly as the original game did; this keeps the snapshot a
+ * few bytes long instead of one bit per dictionary word.
+ * <p>
+ * Encoding and decoding work directly on the caller's buffer, so many
+ * snapshots can be written to or read from one (possibly mapped) buffer
+ * back to back.
+ */
+public final class GameSnapshot {
+    private static final int MAGIC = 0x5747534E; // "WGSN"
+    private static final byte VERSION = 1;
+    private static final byte NORMAL = 0;
+    private static final byte CHEATING = 1;
+    static final int HEADER_BYTES = 28;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * @return number of bytes {@link #encode(WordleGame, WordleGame.State, ByteBuffer)}
+     *         writes for this state
+     */
+    public static int encodedSize(WordleGame.State state) {
+        return HEADER_BYTES + 4 * state.getTurnsUsed();
+    }
+
+    /**
+     * Snapshot the game's current state into a new buffer, ready to read.
+     */
+    public static ByteBuffer encode(WordleGame game) {
+        WordleGame.State state = game.getState();
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(state));
+        encode(game, state, out);
+        return out.flip();
+    }
+
+    /**
+     * Write a snapshot of one state of the game at the buffer's position,
+     * advancing it by {@link #encodedSize(WordleGame.State)} bytes.
+     *
+     * @param state a state of game, e.g. from {@link WordleGame#getState()}
+     * @throws BufferOverflowException if the snapshot does not fit; nothing
+     *         is written in that case
+     */
+    public static void encode(WordleGame game, WordleGame.State state, ByteBuffer out) {
+        if (out.remaining() < encodedSize(state)) {
+            throw new BufferOverflowException();
+        }
+        Dictionary dictionary = game.getDictionary();
+        String answer = state.getAnswer();
+        out.putInt(MAGIC)
+            .put(VERSION)
+            .put(kind(game))
+            .putShort((short) 0)
+            .putLong(dictionary.getFingerprint())
+            .putInt(game.getMaxTurns())
+            .putInt(answer == null ? -1 : dictionary.indexOf(answer))
+            .putInt(state.getTurnsUsed());
+        for (int guessId : state.getGuessIds()) {
+            out.putInt(guessId);
+        }
+    }
+
+    /**
+     * Read a snapshot at the buffer's position and restore it as a new game
+     * built from the prototype, advancing the buffer past the snapshot.
+     *
+     * @param prototype game of the same kind and settings as the one
+     *                  snapshotted; restored games share its dictionary
+     * @throws IllegalArgumentException if the snapshot is malformed or was
+     *         taken with another dictionary, kind of game or maxTurns
+     */
+    public static WordleGame decode(ByteBuffer in, WordleGame prototype) {
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        if (in.get() != VERSION) {
+            throw new IllegalArgumentException("Unsupported game snapshot version");
+        }
+        Dictionary dictionary = prototype.getDictionary();
+        byte kind = in.get();
+        in.getShort();
+        long fingerprint = in.getLong();
+        int maxTurns = in.getInt();
+        int answerId = in.getInt();
+        int turns = in.getInt();
+        if (kind != kind(prototype)) {
+            throw new IllegalArgumentException("Snapshot is of another kind of game");
+        }
+        if (fingerprint != dictionary.getFingerprint()) {
+            throw new IllegalArgumentException("Snapshot was taken with another dictionary");
+        }
+        if (maxTurns != prototype.getMaxTurns()) {
+            throw new IllegalArgumentException("Snapshot was taken with maxTurns " + maxTurns);
+        }
+        if (answerId >= dictionary.size() || (kind == NORMAL && answerId < 0)
+                || turns < 0 || turns > maxTurns || in.remaining() < 4 * turns) {
+            throw new IllegalArgumentException("Corrupt game snapshot");
+        }
+
+        WordleGame game = prototype.newGame(answerId);
+        try {
+            for (int t = 0; t < turns; t++) {
+                game.play(in.getInt());
+            }
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException("Corrupt game snapshot: guesses after the game ended", e);
+        }
+        String answer = game.getAnswer();
+        if (answerId >= 0 && !dictionary.getWord(answerId).equals(answer)) {
+            throw new IllegalArgumentException("Snapshot does not replay to the same answer");
+        }
+        return game;
+    }
+
+    private static byte kind(WordleGame game) {
+        return game instanceof CheatingWordleGame ? CHEATING : NORMAL;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.wordle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one guess played by {@link WordleGame#play},
+ * from validation until its state is published. Disabled unless a recording
+ * enables it, e.g. with the {@code wordle.jfc} settings; while disabled,
+ * the game reads no clock for it.
+ */
+@Name("com.example.wordle.Guess")
+@Label("Guess")
+@Category("Wordle")
+@Description("A guess validated and played on a game")
+@Enabled(false)
+@StackTrace(false)
+final class GuessEvent extends Event {
+
+    @Label("Game")
+    @Description("Label given with WordleGame.setLabel, if any")
+    String game;
+
+    @Label("Cheating")
+    @Description("Whether the host picks the answer as the game goes")
+    boolean cheating;
+
+    @Label("Guess")
+    String guess;
+
+    @Label("Turn")
+    int turn;
+
+    @Label("Candidates Before")
+    @Description("Words that could be the answer before the guess; 1 in a normal game")
+    int candidatesBefore;
+
+    @Label("Candidates After")
+    int candidatesAfter;
+
+    @Label("Attempts")
+    @Description("Times the guess was scored; more than 1 when a concurrent guess on the game won the race")
+    int attempts;
+
+    @Label("Validation Duration")
+    @Timespan
+    long validationDuration;
+
+    @Label("Scoring Duration")
+    @Description("Scoring the guess against the state, including retries")
+    @Timespan
+    long scoringDuration;
+}
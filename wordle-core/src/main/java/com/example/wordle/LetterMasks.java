@@ -0,0 +1,77 @@
+package com.example.wordle;
+
+/**
+ * Per-dictionary bitsets of the words with a given letter at a given
+ * position and with at least k copies of a given letter. Any feedback
+ * pattern observed for a guess can be turned into AND / AND-NOT steps
+ * over these masks, narrowing a candidate set a whole word at a time.
+ */
+final class LetterMasks {
+    private static final int LETTERS = 26;
+
+    /** atPosition[letter * 5 + pos]: words with letter at pos */
+    private final long[][] atPosition = new long[LETTERS * PackedWord.LENGTH][];
+    /** atLeast[letter * 5 + (k - 1)]: words with at least k copies of letter */
+    private final long[][] atLeast = new long[LETTERS * PackedWord.LENGTH][];
+
+    LetterMasks(Dictionary dictionary) {
+        int n = dictionary.size();
+        for (int i = 0; i < atPosition.length; i++) {
+            atPosition[i] = WordBits.empty(n);
+            atLeast[i] = WordBits.empty(n);
+        }
+        int[] counts = new int[LETTERS];
+        for (int id = 0; id < n; id++) {
+            int word = dictionary.getPacked(id);
+            for (int pos = 0; pos < PackedWord.LENGTH; pos++) {
+                int letter = PackedWord.letter(word, pos);
+                WordBits.set(atPosition[letter * PackedWord.LENGTH + pos], id);
+                WordBits.set(atLeast[letter * PackedWord.LENGTH + counts[letter]], id);
+                counts[letter]++;
+            }
+            for (int pos = 0; pos < PackedWord.LENGTH; pos++) {
+                counts[PackedWord.letter(word, pos)] = 0;
+            }
+        }
+    }
+
+    /**
+     * Keep only the words that would give this pattern for the guess.
+     * The pattern must be one some word actually produces for the guess,
+     * which holds for any pattern taken from a real scoring.
+     */
+    void narrow(long[] candidates, int guess, int pattern) {
+        int seen = 0;
+        for (int pos = 0, p = pattern; pos < PackedWord.LENGTH; pos++, p /= 3) {
+            int letter = PackedWord.letter(guess, pos);
+            long[] mask = atPosition[letter * PackedWord.LENGTH + pos];
+            if (p % 3 == WordleScorer.Mark.HIT.ordinal()) {
+                WordBits.and(candidates, mask);
+            } else {
+                WordBits.andNot(candidates, mask);
+            }
+            if ((seen & (1 << letter)) != 0) {
+                continue;
+            }
+            seen |= 1 << letter;
+            // letter count: exact when some copy was a MISS, a lower bound otherwise
+            int found = 0;
+            boolean missed = false;
+            for (int i = pos, q = p; i < PackedWord.LENGTH; i++, q /= 3) {
+                if (PackedWord.letter(guess, i) == letter) {
+                    if (q % 3 == WordleScorer.Mark.MISS.ordinal()) {
+                        missed = true;
+                    } else {
+                        found++;
+                    }
+                }
+            }
+            if (found > 0) {
+                WordBits.and(candidates, atLeast[letter * PackedWord.LENGTH + found - 1]);
+            }
+            if (missed) {
+                WordBits.andNot(candidates, atLeast[letter * PackedWord.LENGTH + found]);
+            }
+        }
+    }
+}
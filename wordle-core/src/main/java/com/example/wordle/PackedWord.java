@@ -0,0 +1,52 @@
+package com.example.wordle;
+
+/**
+ * Packs a 5-letter lowercase word into a single int, 5 bits per letter.
+ * Letters are stored as 1..26 starting from the lowest bits, so a packed
+ * word is never 0 and position i can be read back with {@link #letter}.
+ */
+public final class PackedWord {
+    public static final int LENGTH = 5;
+    public static final int INVALID = -1;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private PackedWord() {
+    }
+
+    /**
+     * Pack a word without allocating.
+     * @param word the word to pack
+     * @return the packed word, or {@link #INVALID} if it is not 5 letters a-z
+     */
+    public static int pack(CharSequence word) {
+        if (word == null || word.length() != LENGTH) {
+            return INVALID;
+        }
+        int packed = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return INVALID;
+            }
+            packed |= (c - 'a' + 1) << (BITS * i);
+        }
+        return packed;
+    }
+
+    /**
+     * @return the letter at position i as 0..25 ('a'..'z')
+     */
+    public static int letter(int packed, int i) {
+        return ((packed >>> (BITS * i)) & MASK) - 1;
+    }
+
+    public static String unpack(int packed) {
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = (char) ('a' + letter(packed, i));
+        }
+        return new String(chars);
+    }
+}
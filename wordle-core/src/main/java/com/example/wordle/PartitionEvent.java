@@ -0,0 +1,47 @@
+package com.example.wordle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one partition of a cheating host's candidates,
+ * committed once per accepted guess, i.e. once per {@link GuessEvent} on a
+ * {@link CheatingWordleGame}; its duration is the counting and narrowing of
+ * the attempt that was accepted. Disabled unless a recording enables it.
+ */
+@Name("com.example.wordle.CheatPartition")
+@Label("Cheat Partition")
+@Category("Wordle")
+@Description("A cheating host bucketing its candidates by feedback and keeping the least helpful bucket")
+@Enabled(false)
+@StackTrace(false)
+final class PartitionEvent extends Event {
+
+    @Label("Game")
+    @Description("Label given with WordleGame.setLabel, if any")
+    String game;
+
+    @Label("Candidates")
+    @Description("Words that could be the answer before the guess")
+    int candidates;
+
+    @Label("Buckets")
+    @Description("Distinct feedback patterns among the candidates")
+    int buckets;
+
+    @Label("Kept")
+    @Description("Candidates in the bucket the host chose")
+    int kept;
+
+    @Label("Parallel")
+    @Description("Whether the candidates were counted in the fork/join pool")
+    boolean parallel;
+
+    @Label("Feedback Table")
+    boolean table;
+}
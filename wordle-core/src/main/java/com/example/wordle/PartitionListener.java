@@ -0,0 +1,18 @@
+package com.example.wordle;
+
+/**
+ * Told how a cheating host partitioned its candidates for each guess, e.g.
+ * to record metrics. It is called on the guessing thread once for every
+ * accepted guess, so implementations must be thread-safe and cheap.
+ */
+@FunctionalInterface
+public interface PartitionListener {
+
+    /**
+     * @param candidates words that could still be the answer before the guess
+     * @param buckets    distinct feedback patterns among them
+     * @param kept       words left in the bucket the host chose
+     * @param nanos      time spent counting and narrowing
+     */
+    void partitioned(int candidates, int buckets, int kept, long nanos);
+}
@@ -0,0 +1,357 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Suggests guesses for a game in progress: every dictionary word is a
+ * possible guess, and each is scored by how it splits the words that are
+ * still possible answers given the feedback so far.
+ * <p>
+ * A guess is scored from a 243-slot histogram of the remaining candidates
+ * per feedback pattern, either by its expected information (the entropy of
+ * the histogram, in bits) or by its worst case (the largest bucket). Among
+ * equal scores a guess that may itself be the answer wins, then the lower id.
+ * Once enough candidates remain, the guesses are split across a ForkJoinPool,
+ * each task reusing one histogram for its share of guesses.
+ * <p>
+ * The opening move is the same for every game on a dictionary and is by far
+ * the most expensive to compute (size^2 feedback patterns), so it is computed
+ * once per dictionary fingerprint and strategy and shared by all solvers.
+ * The next plies can be precomputed offline as a {@link DecisionTree}, which
+ * is mapped on first use and answers for players who followed it.
+ */
+public class Solver {
+
+    /** how guesses are ranked */
+    public enum Strategy {
+        /** most expected information first */
+        ENTROPY,
+        /** smallest worst-case bucket first */
+        MINIMAX
+    }
+
+    /**
+     * One ranked guess.
+     *
+     * @param entropy   expected information of the guess, in bits
+     * @param worstCase candidates left after the least helpful feedback
+     * @param candidate whether the guess may itself be the answer
+     */
+    public record Suggestion(String word, double entropy, int worstCase, boolean candidate) {
+    }
+
+    /**
+     * @param remaining   number of words that may still be the answer
+     * @param suggestions best guesses first
+     */
+    public record Hint(int remaining, List<Suggestion> suggestions) {
+    }
+
+    /** most suggestions returned for one hint */
+    public static final int MAX_SUGGESTIONS = 100;
+    /** default candidate count from which guesses are ranked in parallel */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+    /** guesses scored by one parallel task */
+    private static final int GUESSES_PER_TASK = 256;
+    private static final double LN2 = Math.log(2);
+
+    private static final Map<Opening, CompletableFuture<List<Suggestion>>> OPENINGS = new ConcurrentHashMap<>();
+
+    private record Opening(long fingerprint, Strategy strategy) {
+    }
+
+    private final Dictionary dictionary;
+    private final FeedbackTable feedback;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final Path decisionTreeFile;
+    private volatile DecisionTree decisionTree;
+    private volatile boolean decisionTreeLoaded;
+
+    public Solver(Dictionary dictionary) {
+        this(dictionary, null, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param feedback          precomputed patterns for this dictionary, or null to score on the fly
+     * @param pool              pool for ranking guesses in parallel
+     * @param parallelThreshold candidate count from which ranking runs in the pool
+     */
+    public Solver(Dictionary dictionary, FeedbackTable feedback, ForkJoinPool pool, int parallelThreshold) {
+        this(dictionary, feedback, pool, parallelThreshold, null);
+    }
+
+    /**
+     * @param decisionTree file of a {@link DecisionTree} for this dictionary,
+     *                     mapped on first use, or null
+     */
+    public Solver(Dictionary dictionary, FeedbackTable feedback, ForkJoinPool pool, int parallelThreshold,
+                  Path decisionTree) {
+        if (feedback != null && feedback.size() != dictionary.size()) {
+            throw new IllegalArgumentException("Feedback table was built for another dictionary");
+        }
+        this.dictionary = dictionary;
+        this.feedback = feedback;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.decisionTreeFile = decisionTree;
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Rank guesses for the game's current state, using only what the player
+     * has seen: the feedback of their guesses.
+     *
+     * @param limit number of suggestions, at most {@link #MAX_SUGGESTIONS}
+     * @throws IllegalArgumentException if the game uses another dictionary
+     */
+    public Hint hint(WordleGame game, Strategy strategy, int limit) {
+        if (game.getDictionary().getFingerprint() != dictionary.getFingerprint()) {
+            throw new IllegalArgumentException("Game uses another dictionary");
+        }
+        if (limit < 0 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 0 and " + MAX_SUGGESTIONS);
+        }
+        WordleGame.State state = game.getState();
+        int[] guessIds = state.getGuessIds();
+        int[] patterns = state.getPatterns();
+        DecisionTree tree = getDecisionTree();
+        Hint cached = tree == null ? null : tree.lookup(guessIds, patterns, strategy, limit);
+        if (cached != null) {
+            return cached;
+        }
+        if (guessIds.length == 0) {
+            List<Suggestion> best = opening(strategy);
+            return new Hint(dictionary.size(), best.subList(0, Math.min(limit, best.size())));
+        }
+        long[] candidates = state.candidates != null ? state.candidates : candidates(guessIds, patterns);
+        return rank(candidates, strategy, limit);
+    }
+
+    /**
+     * @return the decision tree, mapped on the first call; null if none was
+     *         configured, its file does not exist yet or it was built for
+     *         another dictionary
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public DecisionTree getDecisionTree() {
+        if (!decisionTreeLoaded) {
+            synchronized (this) {
+                if (!decisionTreeLoaded) {
+                    try {
+                        if (decisionTreeFile != null && Files.exists(decisionTreeFile)) {
+                            decisionTree = DecisionTree.map(decisionTreeFile, dictionary);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot read decision tree " + decisionTreeFile, e);
+                    }
+                    decisionTreeLoaded = true;
+                }
+            }
+        }
+        return decisionTree;
+    }
+
+    /**
+     * @return the best opening guesses for this dictionary, computed on
+     *         first use and then shared by every solver on it
+     */
+    public List<Suggestion> opening(Strategy strategy) {
+        Opening key = new Opening(dictionary.getFingerprint(), strategy);
+        CompletableFuture<List<Suggestion>> mine = new CompletableFuture<>();
+        CompletableFuture<List<Suggestion>> cached = OPENINGS.putIfAbsent(key, mine);
+        if (cached != null) {
+            return cached.join();
+        }
+        try {
+            List<Suggestion> best = rank(WordBits.full(dictionary.size()), strategy, MAX_SUGGESTIONS).suggestions();
+            mine.complete(Collections.unmodifiableList(best));
+        } catch (RuntimeException | Error e) {
+            // let a later call try again
+            OPENINGS.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        return mine.join();
+    }
+
+    /**
+     * Drop the openings cached for a dictionary that is no longer used; a
+     * later solver on the same words computes them again.
+     */
+    public static void forgetOpenings(long fingerprint) {
+        OPENINGS.keySet().removeIf(key -> key.fingerprint() == fingerprint);
+    }
+
+    /**
+     * Words still possible for a player of a normal game: the dictionary
+     * narrowed to the feedback of every guess. A cheating game keeps them
+     * in its state instead.
+     */
+    private long[] candidates(int[] guessIds, int[] patterns) {
+        long[] candidates = WordBits.full(dictionary.size());
+        for (int i = 0; i < guessIds.length; i++) {
+            dictionary.getLetterMasks().narrow(candidates, dictionary.getPacked(guessIds[i]), patterns[i]);
+        }
+        return candidates;
+    }
+
+    /**
+     * score every dictionary word as a guess against the candidates and
+     * keep the best {@code limit}
+     */
+    Hint rank(long[] candidates, Strategy strategy, int limit) {
+        int[] ids = new int[WordBits.count(candidates)];
+        for (int i = 0, id = WordBits.next(candidates, 0); id >= 0; id = WordBits.next(candidates, id + 1)) {
+            ids[i++] = id;
+        }
+        int guesses = dictionary.size();
+        Ranking ranking = new Ranking(ids, guesses);
+        if (ids.length >= parallelThreshold) {
+            pool.invoke(new Scoring(ranking, 0, guesses));
+        } else {
+            ranking.score(0, guesses);
+        }
+        double[] entropy = ranking.entropy;
+        int[] worst = ranking.worst;
+
+        // keep the best limit guesses, best first, by insertion
+        int[] best = new int[Math.min(limit, guesses)];
+        int kept = 0;
+        for (int g = 0; g < guesses && best.length > 0; g++) {
+            if (kept == best.length && !better(g, best[kept - 1], strategy, entropy, worst, candidates)) {
+                continue;
+            }
+            // the last kept guess drops out when the list is full
+            int at = kept == best.length ? kept - 1 : kept++;
+            while (at > 0 && better(g, best[at - 1], strategy, entropy, worst, candidates)) {
+                best[at] = best[at - 1];
+                at--;
+            }
+            best[at] = g;
+        }
+        List<Suggestion> result = new ArrayList<>(kept);
+        for (int i = 0; i < kept; i++) {
+            int g = best[i];
+            result.add(new Suggestion(dictionary.getWord(g), entropy[g], worst[g], WordBits.get(candidates, g)));
+        }
+        return new Hint(ids.length, result);
+    }
+
+    /**
+     * strict order: the strategy's score, then candidates first, then lower id
+     */
+    private static boolean better(int a, int b, Strategy strategy, double[] entropy, int[] worst, long[] candidates) {
+        if (strategy == Strategy.MINIMAX && worst[a] != worst[b]) {
+            return worst[a] < worst[b];
+        }
+        if (entropy[a] != entropy[b]) {
+            return entropy[a] > entropy[b];
+        }
+        boolean ca = WordBits.get(candidates, a);
+        if (ca != WordBits.get(candidates, b)) {
+            return ca;
+        }
+        return a < b;
+    }
+
+    /**
+     * the candidates of one ranking and the score of every guess against them
+     */
+    private final class Ranking {
+        private final int[] ids;
+        private final int[] answers;
+        /** c * log2(c) for every possible bucket size c */
+        private final double[] cLogC;
+        private final double[] entropy;
+        private final int[] worst;
+
+        Ranking(int[] ids, int guesses) {
+            int n = ids.length;
+            this.ids = ids;
+            this.answers = new int[n];
+            for (int i = 0; i < n; i++) {
+                answers[i] = dictionary.getPacked(ids[i]);
+            }
+            this.cLogC = new double[n + 1];
+            for (int c = 2; c <= n; c++) {
+                cLogC[c] = c * Math.log(c) / LN2;
+            }
+            this.entropy = new double[guesses];
+            this.worst = new int[guesses];
+        }
+
+        /**
+         * score guesses [from, to) with one histogram, cleared after each guess
+         */
+        void score(int from, int to) {
+            int n = ids.length;
+            int[] counts = new int[WordleScorer.PATTERN_COUNT];
+            for (int g = from; g < to; g++) {
+                if (feedback != null) {
+                    for (int id : ids) {
+                        counts[feedback.pattern(g, id)]++;
+                    }
+                } else {
+                    int guess = dictionary.getPacked(g);
+                    for (int answer : answers) {
+                        counts[WordleScorer.scorePacked(guess, answer)]++;
+                    }
+                }
+                // H = log2(n) - sum(c * log2(c)) / n
+                double sum = 0;
+                int max = 0;
+                for (int p = 0; p < counts.length; p++) {
+                    int c = counts[p];
+                    if (c > 0) {
+                        sum += cLogC[c];
+                        max = Math.max(max, c);
+                        counts[p] = 0;
+                    }
+                }
+                entropy[g] = n == 0 ? 0 : (cLogC[n] - sum) / n;
+                worst[g] = max;
+            }
+        }
+    }
+
+    /**
+     * splits the guesses in halves until a range is small enough to score
+     * directly; every task writes its own slots of the shared score arrays
+     */
+    private static final class Scoring extends RecursiveAction {
+        private final Ranking ranking;
+        private final int from;
+        private final int to;
+
+        Scoring(Ranking ranking, int from, int to) {
+            this.ranking = ranking;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GUESSES_PER_TASK) {
+                ranking.score(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Scoring(ranking, from, mid), new Scoring(ranking, mid, to));
+        }
+    }
+}
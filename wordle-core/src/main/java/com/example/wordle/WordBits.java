@@ -0,0 +1,96 @@
+package com.example.wordle;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for bitsets over dictionary word ids stored in a plain long[],
+ * bit (id & 63) of word (id >>> 6) being set when the id is a member.
+ */
+final class WordBits {
+
+    private WordBits() {
+    }
+
+    static long[] empty(int size) {
+        return new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * @return a set containing ids 0..size-1
+     */
+    static long[] full(int size) {
+        long[] bits = empty(size);
+        Arrays.fill(bits, -1L);
+        int tail = size & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] = (1L << tail) - 1;
+        }
+        return bits;
+    }
+
+    static void set(long[] bits, int id) {
+        bits[id >>> 6] |= 1L << id;
+    }
+
+    static boolean get(long[] bits, int id) {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    static void and(long[] bits, long[] mask) {
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] &= mask[w];
+        }
+    }
+
+    static void andNot(long[] bits, long[] mask) {
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] &= ~mask[w];
+        }
+    }
+
+    static int count(long[] bits) {
+        int n = 0;
+        for (long word : bits) {
+            n += Long.bitCount(word);
+        }
+        return n;
+    }
+
+    /**
+     * @return the first member at or after from, or -1 if there is none
+     */
+    static int next(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+    }
+
+    /**
+     * @return the index-th member in id order
+     */
+    static int select(long[] bits, int index) {
+        for (int w = 0; w < bits.length; w++) {
+            int n = Long.bitCount(bits[w]);
+            if (index < n) {
+                long word = bits[w];
+                for (int i = 0; i < index; i++) {
+                    word &= word - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            index -= n;
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+}
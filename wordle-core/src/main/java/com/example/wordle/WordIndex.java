@@ -0,0 +1,68 @@
+package com.example.wordle;
+
+/**
+ * Open-addressing hash set of packed words mapping each word to its id.
+ * Lookups use linear probing over two primitive arrays and never allocate.
+ */
+final class WordIndex {
+    private static final int EMPTY = 0;
+
+    private final int[] keys;
+    private final int[] ids;
+    private final int mask;
+    private final int shift;
+
+    /**
+     * @param packed packed words indexed by id; duplicates keep the first id
+     */
+    WordIndex(int[] packed) {
+        int capacity = Integer.highestOneBit(Math.max(8, packed.length * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfLeadingZeros(mask);
+        for (int id = 0; id < packed.length; id++) {
+            int key = packed[id];
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                ids[slot] = id;
+            }
+        }
+    }
+
+    /**
+     * @return the id of the packed word, or -1 if it is not in the index
+     */
+    int indexOf(int key) {
+        if (key <= 0) {
+            return -1;
+        }
+        int slot = slot(key);
+        while (true) {
+            int k = keys[slot];
+            if (k == key) {
+                return ids[slot];
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return bytes held by the two arrays
+     */
+    long getResidentBytes() {
+        return 8L * keys.length;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing: take the top bits of the multiplied key
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
@@ -1,105 +1,341 @@
 package com.example.wordle;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages a single-player Wordle game session with configurable options.
+ * <p>
+ * A game's progress is an immutable {@link State} swapped in with a
+ * compare-and-set on every guess, so guesses on one game may come from
+ * several threads: they are applied one after another without locking, and
+ * readers always see a consistent snapshot.
+ * <p>
+ * Each played guess is also a flight recorder event
+ * ({@code com.example.wordle.Guess}), which is disabled, and costs no clock
+ * reads, unless a recording enables it.
  */
 public class WordleGame {
     protected final int maxTurns;
-    protected final List<String> wordList;
-    private String wordFile;
-    protected String answer;
-    protected int turnsUsed = 0;
-    protected boolean won = false;
-    protected WordleScorer.Mark[] lastMarks;
+    protected final Dictionary dictionary;
+    private final AtomicReference<State> state;
+    // names the game in its flight recorder events
+    private volatile String label;
 
     /**
-     * Load the word list from classpath.
+     * Immutable snapshot of a game's progress after some number of guesses.
      */
-    public static List<String> loadWordList(String wordFile) throws IOException {
-        try (InputStream is = WordleGame.class.getClassLoader().getResourceAsStream(wordFile);
-             BufferedReader reader = new BufferedReader(
-                 new InputStreamReader(is, StandardCharsets.UTF_8))) {
-            if (is == null) {
-                throw new IllegalStateException(wordFile + " not found on classpath");
+    public static final class State {
+        private final int turnsUsed;
+        private final boolean won;
+        private final boolean over;
+        private final int lastPattern;
+        private final String answer;
+        // answer packed once per game, 0 while a cheating host has none
+        private final int packedAnswer;
+        // guesses and their feedback, newest first; the tail is shared with earlier states
+        private final Guess lastGuess;
+        // cheating games only: remaining candidates, never modified once published
+        final long[] candidates;
+        final int candidateCount;
+        // cheating games only: how the last guess was partitioned, if anyone is told
+        final CheatingWordleGame.Partition partition;
+
+        private static final class Guess {
+            final int id;
+            final int pattern;
+            final Guess previous;
+
+            Guess(int id, int pattern, Guess previous) {
+                this.id = id;
+                this.pattern = pattern;
+                this.previous = previous;
+            }
+        }
+
+        /**
+         * State before the first guess.
+         */
+        State(boolean over, String answer, long[] candidates, int candidateCount) {
+            this.turnsUsed = 0;
+            this.won = false;
+            this.over = over;
+            this.lastPattern = -1;
+            this.answer = answer;
+            this.packedAnswer = answer == null ? 0 : PackedWord.pack(answer);
+            this.lastGuess = null;
+            this.candidates = candidates;
+            this.candidateCount = candidateCount;
+            this.partition = null;
+        }
+
+        /**
+         * State after guessing guessId from previous.
+         */
+        State(State previous, int guessId, int pattern, boolean won, boolean over, String answer,
+              long[] candidates, int candidateCount, CheatingWordleGame.Partition partition) {
+            this.turnsUsed = previous.turnsUsed + 1;
+            this.won = won;
+            this.over = over;
+            this.lastPattern = pattern;
+            this.answer = answer;
+            this.packedAnswer = answer == null ? 0
+                : answer.equals(previous.answer) ? previous.packedAnswer : PackedWord.pack(answer);
+            this.lastGuess = new Guess(guessId, pattern, previous.lastGuess);
+            this.candidates = candidates;
+            this.candidateCount = candidateCount;
+            this.partition = partition;
+        }
+
+        public int getTurnsUsed() {
+            return turnsUsed;
+        }
+
+        public boolean hasWon() {
+            return won;
+        }
+
+        public boolean isOver() {
+            return over;
+        }
+
+        /**
+         * @return feedback of the last guess, or null before the first guess
+         */
+        public WordleScorer.Mark[] getLastMarks() {
+            return lastPattern < 0 ? null : WordleScorer.toMarks(lastPattern);
+        }
+
+        /**
+         * @return feedback pattern of the last guess, 0..242 (see
+         *         {@link WordleScorer#toMarks(int)}), or -1 before the first guess
+         */
+        public int getLastPattern() {
+            return lastPattern;
+        }
+
+        public String getAnswer() {
+            return answer;
+        }
+
+        /**
+         * @return dictionary ids of the guesses so far, oldest first
+         */
+        public int[] getGuessIds() {
+            int[] ids = new int[turnsUsed];
+            Guess g = lastGuess;
+            for (int i = turnsUsed - 1; i >= 0; i--) {
+                ids[i] = g.id;
+                g = g.previous;
             }
-            return reader.lines().collect(Collectors.toList());
+            return ids;
+        }
+
+        /**
+         * @return feedback pattern of each guess, oldest first
+         */
+        int[] getPatterns() {
+            int[] patterns = new int[turnsUsed];
+            Guess g = lastGuess;
+            for (int i = turnsUsed - 1; i >= 0; i--) {
+                patterns[i] = g.pattern;
+                g = g.previous;
+            }
+            return patterns;
         }
     }
 
     /**
-     * Constructor: load wordList from classpath and pick a random answer.
+     * Load the word list from a source (see {@link DictionaryLoader}): its
+     * distinct valid words, in file order.
+     */
+    public static List<String> loadWordList(String wordFile) throws IOException {
+        return DictionaryLoader.load(wordFile).getWords();
+    }
+
+    /**
+     * Constructor: use the shared dictionary for wordFile and pick a random answer.
      */
     public WordleGame(int maxTurns, String wordFile) throws IOException {
-        this(maxTurns, loadWordList(wordFile));
-        this.wordFile = wordFile;
+        this(maxTurns, Dictionary.load(wordFile));
     }
 
     /**
-     * Protected constructor: accept pre-loaded wordList and pick random answer.
+     * Constructor: share an already loaded dictionary and pick a random answer.
      */
-    protected WordleGame(int maxTurns, List<String> wordList) {
-        this.maxTurns = maxTurns;
-        this.wordList  = wordList;
-        this.answer    = wordList.get(new Random().nextInt(wordList.size()));
+    public WordleGame(int maxTurns, Dictionary dictionary) {
+        this(maxTurns, dictionary,
+            dictionary.getWord(ThreadLocalRandom.current().nextInt(dictionary.size())));
     }
 
     /**
-     * Test constructor: load wordList and use the provided answer.
+     * Test constructor: use the shared dictionary for wordFile and the provided answer.
      */
     public WordleGame(int maxTurns, String wordFile, String answer) throws IOException {
-        this(maxTurns, loadWordList(wordFile));
-        if (!wordList.contains(answer)) {
+        this(maxTurns, Dictionary.load(wordFile), answer);
+    }
+
+    /**
+     * Constructor: share an already loaded dictionary and use the provided answer.
+     */
+    public WordleGame(int maxTurns, Dictionary dictionary, String answer) {
+        this(maxTurns, dictionary, new State(maxTurns <= 0, answer, null, 0));
+        if (!dictionary.contains(answer)) {
             throw new IllegalArgumentException("Answer must be in word list");
         }
-        this.answer = answer;
+    }
+
+    /**
+     * Protected constructor: start from the given state.
+     */
+    protected WordleGame(int maxTurns, Dictionary dictionary, State initial) {
+        this.maxTurns   = maxTurns;
+        this.dictionary = dictionary;
+        this.state      = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Create a fresh game with the same settings, sharing this game's dictionary.
+     */
+    public WordleGame newGame() {
+        return new WordleGame(maxTurns, dictionary);
+    }
+
+    /**
+     * Create a fresh game with the same settings and a given answer, e.g. to
+     * restore a saved game. Cheating games ignore the answer, since theirs
+     * follows from the guesses.
+     *
+     * @param answerId dictionary id of the answer, or -1 for a random one
+     */
+    public WordleGame newGame(int answerId) {
+        return answerId < 0 ? newGame() : new WordleGame(maxTurns, dictionary, dictionary.getWord(answerId));
     }
 
     /**
      * Make a guess. Records marks and returns true if correct.
      */
     public boolean guess(String word) {
-        if (turnsUsed >= maxTurns || won) {
+        return play(word).hasWon();
+    }
+
+    /**
+     * Make a guess and return the state it produced. Concurrent guesses on
+     * the same game are serialized: each is applied to the state left by
+     * the previous one, and a guess that loses the race is re-applied.
+     */
+    public State play(String word) {
+        GuessEvent event = new GuessEvent();
+        event.begin();
+        long start = event.isEnabled() ? System.nanoTime() : 0;
+        if (state.get().isOver()) {
             throw new IllegalStateException("Game over");
         }
-        if (word == null || word.length() != 5 || !wordList.contains(word)) {
+        int guessId = dictionary.indexOf(word);
+        if (guessId < 0) {
             throw new IllegalArgumentException(
                 "Invalid guess: must be 5 letters and in the word list");
         }
-        turnsUsed++;
-        lastMarks = new WordleScorer().score(word, answer);
-        if (word.equals(answer)) {
-            won = true;
+        return play(guessId, event, start);
+    }
+
+    /**
+     * Same as {@link #play(String)} for a word given by its dictionary id.
+     */
+    public State play(int guessId) {
+        GuessEvent event = new GuessEvent();
+        event.begin();
+        return play(guessId, event, event.isEnabled() ? System.nanoTime() : 0);
+    }
+
+    /**
+     * validate and apply a guess, recording it in event if that is enabled
+     *
+     * @param start nanoTime when validation started, if the event is enabled
+     */
+    private State play(int guessId, GuessEvent event, long start) {
+        if (guessId < 0 || guessId >= dictionary.size()) {
+            throw new IllegalArgumentException("Invalid guess id: " + guessId);
+        }
+        State current = state.get();
+        if (current.isOver()) {
+            throw new IllegalStateException("Game over");
+        }
+        long scoring = event.isEnabled() ? System.nanoTime() : 0;
+        int attempts = 0;
+        while (true) {
+            State next = advance(current, guessId);
+            attempts++;
+            if (state.compareAndSet(current, next)) {
+                if (event.shouldCommit()) {
+                    long end = System.nanoTime();
+                    event.game = label;
+                    event.cheating = current.candidates != null;
+                    event.guess = dictionary.getWord(guessId);
+                    event.turn = next.turnsUsed;
+                    event.candidatesBefore = event.cheating ? current.candidateCount : 1;
+                    event.candidatesAfter = event.cheating ? next.candidateCount : 1;
+                    event.attempts = attempts;
+                    event.validationDuration = scoring - start;
+                    event.scoringDuration = end - scoring;
+                    event.commit();
+                }
+                played(current, next);
+                return next;
+            }
+            current = state.get();
+            if (current.isOver()) {
+                throw new IllegalStateException("Game over");
+            }
         }
-        return won;
+    }
+
+    /**
+     * Compute the state after guessing guessId from current, without
+     * modifying current. May run more than once for the same guess.
+     */
+    protected State advance(State current, int guessId) {
+        int turnsUsed = current.turnsUsed + 1;
+        int pattern = WordleScorer.scorePacked(dictionary.getPacked(guessId), current.packedAnswer);
+        boolean won = pattern == WordleScorer.ALL_HIT;
+        return new State(current, guessId, pattern, won, won || turnsUsed >= maxTurns,
+            current.answer, null, 0, null);
+    }
+
+    /**
+     * Called once for every accepted guess, after its state is published;
+     * unlike {@link #advance}, never for an attempt that lost a race.
+     */
+    protected void played(State previous, State next) {
+    }
+
+    /**
+     * @return consistent snapshot of the game's progress
+     */
+    public State getState() {
+        return state.get();
     }
 
     public boolean isOver() {
-        return won || turnsUsed >= maxTurns;
+        return state.get().isOver();
     }
 
     public boolean hasWon() {
-        return won;
+        return state.get().hasWon();
     }
 
     public int getTurnsUsed() {
-        return turnsUsed;
+        return state.get().getTurnsUsed();
     }
 
     public WordleScorer.Mark[] getLastMarks() {
-        return lastMarks;
+        return state.get().getLastMarks();
     }
 
     public String getAnswer() {
-        return answer;
+        return state.get().getAnswer();
     }
 
     public int getMaxTurns() {
@@ -107,10 +343,29 @@ public class WordleGame {
     }
 
     public List<String> getWordList() {
-        return wordList;
+        return dictionary.getWords();
     }
-    
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
     public String getWordFile() {
-        return wordFile;
+        return dictionary.getName();
+    }
+
+    /**
+     * @return what this game's flight recorder events call it, or null
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Name this game in its flight recorder events, e.g. with the id a
+     * server knows it by, so a slow guess can be traced back to its game.
+     */
+    public void setLabel(String label) {
+        this.label = label;
     }
 }
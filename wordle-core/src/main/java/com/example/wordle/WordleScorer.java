@@ -2,10 +2,22 @@ package com.example.wordle;
 
 /**
  * Scores a Wordle guess against the answer.
+ * <p>
+ * Besides the {@link Mark} array form, feedback can be computed on packed
+ * words (see {@link PackedWord}) as a single base-3 pattern: digit i, with
+ * weight 3^i, is the ordinal of the mark at position i. Patterns range over
+ * 0..242 and 0 means all HIT.
  */
 public class WordleScorer {
     public enum Mark { HIT, PRESENT, MISS }
 
+    /** number of distinct feedback patterns for a 5-letter word */
+    public static final int PATTERN_COUNT = 243;
+    /** pattern of a correct guess */
+    public static final int ALL_HIT = 0;
+
+    private static final Mark[] MARKS = Mark.values();
+
     /**
      * Score a guess against the answer.
      * @param guess  the guessed word
@@ -40,4 +52,78 @@ public class WordleScorer {
         }
         return result;
     }
+
+    /**
+     * Score packed words without allocating, with the same duplicate-letter
+     * handling as {@link #score(String, String)}.
+     * @param guess  the packed guessed word
+     * @param answer the packed target word
+     * @return the feedback pattern, 0..242
+     */
+    public static int scorePacked(int guess, int answer) {
+        // First pass: correct position
+        int used = 0;
+        for (int i = 0; i < 5; i++) {
+            if (PackedWord.letter(guess, i) == PackedWord.letter(answer, i)) {
+                used |= 1 << i;
+            }
+        }
+        int hits = used;
+        int pattern = 0;
+        int weight = 1;
+        // Second pass: present but wrong position
+        for (int i = 0; i < 5; i++, weight *= 3) {
+            if ((hits & (1 << i)) != 0) {
+                continue; // HIT contributes 0
+            }
+            int c = PackedWord.letter(guess, i);
+            int mark = Mark.MISS.ordinal();
+            for (int j = 0; j < 5; j++) {
+                if ((used & (1 << j)) == 0 && PackedWord.letter(answer, j) == c) {
+                    used |= 1 << j;
+                    mark = Mark.PRESENT.ordinal();
+                    break;
+                }
+            }
+            pattern += mark * weight;
+        }
+        return pattern;
+    }
+
+    /**
+     * Convert marks into their base-3 pattern.
+     */
+    public static int toPattern(Mark[] marks) {
+        int pattern = 0;
+        for (int i = marks.length - 1; i >= 0; i--) {
+            pattern = pattern * 3 + marks[i].ordinal();
+        }
+        return pattern;
+    }
+
+    /**
+     * Convert a base-3 pattern back into marks.
+     */
+    public static Mark[] toMarks(int pattern) {
+        Mark[] marks = new Mark[5];
+        for (int i = 0; i < 5; i++) {
+            marks[i] = MARKS[pattern % 3];
+            pattern /= 3;
+        }
+        return marks;
+    }
+
+    /**
+     * @return how many positions of the pattern carry the given mark
+     */
+    public static int count(int pattern, Mark mark) {
+        int n = 0;
+        for (int i = 0; i < 5; i++) {
+            if (pattern % 3 == mark.ordinal()) {
+                n++;
+            }
+            pattern /= 3;
+        }
+        return n;
+    }
 }
@@ -1,15 +1,35 @@
 package com.example.wordle;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class CheatingWordleGameTest {
 
@@ -67,10 +87,238 @@ class CheatingWordleGameTest {
             () -> game.guess("toolong"));
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> getCandidates(CheatingWordleGame g) throws Exception {
-        Field f = CheatingWordleGame.class.getDeclaredField("candidates");
-        f.setAccessible(true);
-        return (List<String>) f.get(g);
+    @Test
+    void partitionKeepsLeastHelpfulBucket() {
+        // small alphabet so every guess splits the pool into many buckets
+        Dictionary dict = randomDictionary(11, 400, 6);
+        CheatingWordleGame g = new CheatingWordleGame(6, dict);
+        WordleScorer scorer = new WordleScorer();
+        List<String> remaining = new ArrayList<>(dict.getWords());
+        for (String guess : List.of(dict.getWord(0), dict.getWord(100), dict.getWord(200))) {
+            // reference: fewest hits, then fewest presents, then lowest pattern
+            int bestRank = Integer.MAX_VALUE;
+            int bestPattern = -1;
+            for (String cand : remaining) {
+                int p = WordleScorer.toPattern(scorer.score(guess, cand));
+                int rank = WordleScorer.count(p, WordleScorer.Mark.HIT) * 8
+                         + WordleScorer.count(p, WordleScorer.Mark.PRESENT);
+                if (rank < bestRank || (rank == bestRank && p < bestPattern)) {
+                    bestRank = rank;
+                    bestPattern = p;
+                }
+            }
+            List<String> expected = new ArrayList<>();
+            for (String cand : remaining) {
+                if (WordleScorer.toPattern(scorer.score(guess, cand)) == bestPattern) {
+                    expected.add(cand);
+                }
+            }
+            g.guess(guess);
+            assertEquals(expected, new ArrayList<>(getCandidates(g)), "after guessing " + guess);
+            assertEquals(bestPattern, WordleScorer.toPattern(g.getLastMarks()));
+            remaining = expected;
+        }
+    }
+
+    @Test
+    void parallelScoringMatchesSequential() {
+        Dictionary dict = randomDictionary(5, 5000, 10);
+        Random random = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CheatingWordleGame sequential = new CheatingWordleGame(6, dict, null, pool, Integer.MAX_VALUE);
+            CheatingWordleGame parallel = new CheatingWordleGame(6, dict, null, pool, 1);
+            for (int turn = 0; turn < 3; turn++) {
+                String guess = dict.getWord(random.nextInt(dict.size()));
+                assertEquals(sequential.guess(guess), parallel.guess(guess));
+                assertEquals(WordleScorer.toPattern(sequential.getLastMarks()),
+                        WordleScorer.toPattern(parallel.getLastMarks()));
+                assertEquals(new ArrayList<>(sequential.getWordList()),
+                        new ArrayList<>(parallel.getWordList()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void listenerSeesEachPartition() {
+        Dictionary dict = randomDictionary(13, 500, 6);
+        List<int[]> seen = new ArrayList<>();
+        CheatingWordleGame prototype = new CheatingWordleGame(6, dict, null, ForkJoinPool.commonPool(),
+                Integer.MAX_VALUE, (candidates, buckets, kept, nanos) -> {
+                    assertTrue(nanos >= 0);
+                    seen.add(new int[] {candidates, buckets, kept});
+                });
+        // games created from the prototype report to the same listener
+        WordleGame g = prototype.newGame();
+        WordleScorer scorer = new WordleScorer();
+        List<String> remaining = new ArrayList<>(dict.getWords());
+        for (String guess : List.of(dict.getWord(0), dict.getWord(250))) {
+            Set<Integer> patterns = new LinkedHashSet<>();
+            for (String cand : remaining) {
+                patterns.add(WordleScorer.toPattern(scorer.score(guess, cand)));
+            }
+            g.guess(guess);
+            int[] last = seen.get(seen.size() - 1);
+            assertEquals(remaining.size(), last[0]);
+            assertEquals(patterns.size(), last[1]);
+            assertEquals(g.getWordList().size(), last[2]);
+            remaining = new ArrayList<>(g.getWordList());
+        }
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void concurrentGuessesMatchSequentialReplay() throws Exception {
+        Dictionary dict = randomDictionary(9, 3000, 26);
+        Random random = new Random(9);
+        CheatingWordleGame shared = new CheatingWordleGame(2000, dict);
+        // each accepted guess, keyed by the turn it was applied at
+        Map<Integer, String> byTurn = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4000; i++) {
+                String guess = dict.getWord(random.nextInt(dict.size()));
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        WordleGame.State s = shared.play(guess);
+                        assertNull(byTurn.put(s.getTurnsUsed(), guess), "turn reported twice");
+                    } catch (IllegalStateException e) {
+                        // game already over
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        int turns = shared.getTurnsUsed();
+        assertEquals(turns, byTurn.size());
+        // replaying the accepted guesses in turn order must give the same game
+        CheatingWordleGame replay = new CheatingWordleGame(2000, dict);
+        for (int t = 1; t <= turns; t++) {
+            replay.guess(byTurn.get(t));
+        }
+        assertEquals(replay.getTurnsUsed(), shared.getTurnsUsed());
+        assertEquals(replay.hasWon(), shared.hasWon());
+        assertEquals(new ArrayList<>(replay.getWordList()), new ArrayList<>(shared.getWordList()));
+    }
+
+    /**
+     * A guess that loses a race is partitioned again, but the listener
+     * should hear about each accepted guess exactly once.
+     */
+    @Test
+    void concurrentGuessesReportOnePartitionEach() throws Exception {
+        Dictionary dict = randomDictionary(17, 3000, 26);
+        Random random = new Random(17);
+        List<Integer> reported = Collections.synchronizedList(new ArrayList<>());
+        CheatingWordleGame shared = new CheatingWordleGame(2000, dict, null, ForkJoinPool.commonPool(),
+                Integer.MAX_VALUE, (candidates, buckets, kept, nanos) -> reported.add(kept));
+        List<Integer> accepted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                String guess = dict.getWord(random.nextInt(dict.size()));
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        accepted.add(shared.play(guess).candidateCount);
+                    } catch (IllegalStateException e) {
+                        // game already over
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(shared.getTurnsUsed(), accepted.size());
+        assertEquals(sorted(accepted), sorted(reported));
+    }
+
+    /**
+     * A recording should see each guess with the candidates before and
+     * after it, and the partition behind it with its bucket count.
+     */
+    @Test
+    void flightRecorderEventsRecorded(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("cheat.jfr");
+        int before = game.getWordList().size();
+        Set<Integer> patterns = new LinkedHashSet<>();
+        WordleScorer scorer = new WordleScorer();
+        for (String cand : game.getWordList()) {
+            patterns.add(WordleScorer.toPattern(scorer.score("buggy", cand)));
+        }
+        game.setLabel("cheat-1");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.wordle.Guess").withThreshold(Duration.ZERO);
+            recording.enable("com.example.wordle.CheatPartition").withThreshold(Duration.ZERO);
+            recording.start();
+            game.guess("buggy");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        RecordedEvent guess = null;
+        RecordedEvent partition = null;
+        for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+            if (e.getEventType().getName().equals("com.example.wordle.Guess")) {
+                guess = e;
+            } else {
+                partition = e;
+            }
+        }
+        assertTrue(guess != null && partition != null);
+        assertEquals("cheat-1", guess.getString("game"));
+        assertEquals("cheat-1", partition.getString("game"));
+        assertTrue(guess.getBoolean("cheating"));
+        assertEquals(before, guess.getInt("candidatesBefore"));
+        assertEquals(game.getWordList().size(), guess.getInt("candidatesAfter"));
+        assertEquals(before, partition.getInt("candidates"));
+        assertEquals(patterns.size(), partition.getInt("buckets"));
+        assertEquals(game.getWordList().size(), partition.getInt("kept"));
+        assertFalse(partition.getBoolean("table"));
+    }
+
+    private List<String> getCandidates(CheatingWordleGame g) {
+        return g.getWordList();
+    }
+
+    /**
+     * distinct random five-letter words over the first {@code letters}
+     * letters of the alphabet
+     */
+    private static Dictionary randomDictionary(long seed, int size, int letters) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            char[] chars = new char[5];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(letters));
+            }
+            words.add(new String(chars));
+        }
+        return Dictionary.of("random-" + seed, words);
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        return copy;
     }
 }
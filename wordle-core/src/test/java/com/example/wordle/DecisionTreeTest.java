@@ -0,0 +1,146 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link DecisionTree}: lookups must give exactly the hints
+ * the solver computes, from a built or a mapped tree, and only for games
+ * that followed the tree.
+ */
+class DecisionTreeTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Every node on the first two plies should hold the hint the solver
+     * would compute for a game that reached it.
+     */
+    @Test
+    void lookupsMatchComputedHints() throws IOException {
+        Dictionary dict = generated("tree-lookup", 400, 1);
+        Solver solver = new Solver(dict);
+        DecisionTree tree = DecisionTree.build(solver, Solver.Strategy.ENTROPY, 2, 5);
+        assertTrue(tree.getNodeCount() > 1);
+
+        Path file = dir.resolve("tree.bin");
+        tree.write(file);
+        DecisionTree mapped = DecisionTree.map(file, dict);
+        assertNotNull(mapped);
+        assertTrue(mapped.isMapped());
+        assertEquals(tree.getNodeCount(), mapped.getNodeCount());
+        assertEquals(Files.size(file), mapped.getSizeBytes());
+
+        String opening = solver.hint(new WordleGame(6, dict), Solver.Strategy.ENTROPY, 1)
+                .suggestions().get(0).word();
+        for (int answer = 0; answer < dict.size(); answer += 7) {
+            WordleGame game = new WordleGame(6, dict, dict.getWord(answer));
+            assertEquals(solver.hint(game, Solver.Strategy.ENTROPY, 5), lookup(mapped, game, 5));
+            if (game.guess(opening)) {
+                continue;
+            }
+            Solver.Hint computed = solver.hint(game, Solver.Strategy.ENTROPY, 5);
+            assertEquals(computed, lookup(tree, game, 5), "answer " + dict.getWord(answer));
+            assertEquals(computed, lookup(mapped, game, 5), "answer " + dict.getWord(answer));
+            assertEquals(computed.suggestions().subList(0, 3), lookup(mapped, game, 3).suggestions());
+        }
+    }
+
+    /**
+     * Off the tree's path, past its plies, over its width or for another
+     * strategy, the tree should not answer.
+     */
+    @Test
+    void missesOutsideTheTree() {
+        Dictionary dict = generated("tree-miss", 300, 2);
+        Solver solver = new Solver(dict);
+        DecisionTree tree = DecisionTree.build(solver, Solver.Strategy.MINIMAX, 2, 4);
+        String opening = solver.hint(new WordleGame(6, dict), Solver.Strategy.MINIMAX, 1)
+                .suggestions().get(0).word();
+
+        WordleGame game = new WordleGame(6, dict, dict.getWord(11));
+        assertNull(lookup(tree, game, 5), "wider than the tree");
+        assertNull(tree.lookup(new int[0], new int[0], Solver.Strategy.ENTROPY, 4), "other strategy");
+
+        WordleGame offPath = new WordleGame(6, dict, dict.getWord(11));
+        offPath.guess(dict.getWord(0).equals(opening) ? dict.getWord(1) : dict.getWord(0));
+        assertNull(lookup(tree, offPath, 4));
+
+        game.guess(opening);
+        if (!game.isOver()) {
+            assertNotNull(lookup(tree, game, 4));
+            game.guess(dict.getWord(5));
+            if (!game.isOver()) {
+                assertNull(lookup(tree, game, 4), "past the last ply");
+            }
+        }
+    }
+
+    /**
+     * A solver should map its tree on first use and serve hints from it,
+     * and ignore a tree built for another dictionary.
+     */
+    @Test
+    void solverUsesTreeFile() throws IOException {
+        Dictionary dict = generated("tree-solver", 300, 3);
+        Path file = dir.resolve("tree.bin");
+        DecisionTree.build(new Solver(dict), Solver.Strategy.ENTROPY, 2, 5).write(file);
+
+        Solver solver = new Solver(dict, null, ForkJoinPool.commonPool(), Solver.DEFAULT_PARALLEL_THRESHOLD, file);
+        assertNotNull(solver.getDecisionTree());
+        WordleGame game = new WordleGame(6, dict, dict.getWord(8));
+        assertEquals(new Solver(dict).hint(game, Solver.Strategy.ENTROPY, 5),
+                solver.hint(game, Solver.Strategy.ENTROPY, 5));
+
+        Dictionary other = generated("tree-other", 300, 4);
+        assertNull(DecisionTree.map(file, other));
+        Solver otherSolver = new Solver(other, null, ForkJoinPool.commonPool(), 64, file);
+        assertNull(otherSolver.getDecisionTree());
+        Solver missing = new Solver(dict, null, ForkJoinPool.commonPool(), 64, dir.resolve("none.bin"));
+        assertNull(missing.getDecisionTree());
+    }
+
+    @Test
+    void invalidShapeRejected() {
+        Solver solver = new Solver(generated("tree-shape", 50, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> DecisionTree.build(solver, Solver.Strategy.ENTROPY, 0, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> DecisionTree.build(solver, Solver.Strategy.ENTROPY, 2, Solver.MAX_SUGGESTIONS + 1));
+    }
+
+    private static Solver.Hint lookup(DecisionTree tree, WordleGame game, int limit) {
+        WordleGame.State state = game.getState();
+        return tree.lookup(state.getGuessIds(), state.getPatterns(), tree.getStrategy(), limit);
+    }
+
+    /**
+     * small alphabet so guesses split the words into many buckets
+     */
+    private static Dictionary generated(String name, int size, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            char[] chars = new char[5];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(8));
+            }
+            words.add(new String(chars));
+        }
+        return Dictionary.of(name, words);
+    }
+}
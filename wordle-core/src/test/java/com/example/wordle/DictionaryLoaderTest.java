@@ -0,0 +1,175 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link DictionaryLoader}: normalization, rejected and
+ * duplicate lines, mapped, compressed and classpath sources, and the load
+ * report.
+ */
+class DictionaryLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Whitespace, Windows line ends, a byte order mark and upper case should
+     * be accepted; blank, duplicate and malformed lines should be counted
+     * and left out.
+     */
+    @Test
+    void normalizesAndRejectsLines() throws IOException {
+        String text = "\uFEFFhello\r\n"
+                + "  World \n"
+                + "\n"
+                + "hello\n"
+                + "toolong\n"
+                + "abc\n"
+                + "crazy\t\n"
+                + "ab cd\n"
+                + "fancy\n"
+                + "\t \n"
+                + "caf\u00e9s\n"
+                + "quite";
+        Path file = dir.resolve("words.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        Dictionary dict = DictionaryLoader.load("file:" + file);
+        assertEquals(List.of("hello", "world", "crazy", "fancy", "quite"), dict.getWords());
+        assertEquals("file:" + file, dict.getName());
+
+        DictionaryLoader.Report report = dict.getLoadReport();
+        assertNotNull(report);
+        assertEquals(12, report.lines());
+        assertEquals(5, report.words());
+        assertEquals(1, report.duplicates());
+        assertEquals(2, report.blank());
+        assertEquals(4, report.malformed());
+        assertEquals(List.of(5, 6, 8, 11), report.malformedLines());
+        assertEquals(Files.size(file), report.bytes());
+        assertTrue(report.nanos() > 0);
+        assertEquals(dict.getResidentBytes(), report.residentBytes());
+        assertTrue(report.summary().contains("5 words from 12 lines"), report.summary());
+    }
+
+    /**
+     * A gzip file, whose lines span the stream buffers, should give the
+     * same dictionary as the words it holds.
+     */
+    @Test
+    void gzipMatchesPlainFile() throws IOException {
+        List<String> words = generated(30_000, 1);
+        StringBuilder text = new StringBuilder();
+        for (String word : words) {
+            text.append(word).append('\n');
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        Path plain = dir.resolve("big.txt");
+        Files.write(plain, bytes);
+        Path gzip = dir.resolve("big.txt.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(bytes);
+        }
+
+        long expected = Dictionary.of("big", words).getFingerprint();
+        Dictionary mapped = DictionaryLoader.load("file:" + plain);
+        Dictionary unzipped = DictionaryLoader.load("file:" + gzip);
+        assertEquals(expected, mapped.getFingerprint());
+        assertEquals(expected, unzipped.getFingerprint());
+        assertEquals(bytes.length, unzipped.getLoadReport().bytes());
+        assertEquals(words.size(), unzipped.getLoadReport().words());
+    }
+
+    /**
+     * Words that share their first letters, and so the low bits of their
+     * packed form, should still be told apart from their duplicates; only
+     * the first malformed lines are listed, but all are counted.
+     */
+    @Test
+    void similarWordsAndManyMalformedLines() throws IOException {
+        List<String> words = new ArrayList<>();
+        for (char a = 'a'; a <= 'z'; a++) {
+            for (char b = 'a'; b <= 'z'; b++) {
+                words.add("cra" + a + b);
+            }
+        }
+        StringBuilder text = new StringBuilder();
+        for (String word : words) {
+            text.append(word).append('\n');
+        }
+        for (String word : words) {
+            text.append(word.toUpperCase()).append('\n');
+        }
+        for (int i = 0; i < 3 * DictionaryLoader.MAX_MALFORMED_LINES; i++) {
+            text.append("cra").append(i).append('\n');
+        }
+        Path file = dir.resolve("similar.txt");
+        Files.writeString(file, text);
+
+        Dictionary dict = DictionaryLoader.load("file:" + file);
+        assertEquals(words, dict.getWords());
+        DictionaryLoader.Report report = dict.getLoadReport();
+        assertEquals(words.size(), report.duplicates());
+        assertEquals(3 * DictionaryLoader.MAX_MALFORMED_LINES, report.malformed());
+        List<Integer> listed = new ArrayList<>();
+        for (int i = 1; i <= DictionaryLoader.MAX_MALFORMED_LINES; i++) {
+            listed.add(2 * words.size() + i);
+        }
+        assertEquals(listed, report.malformedLines());
+    }
+
+    @Test
+    void classpathAndCachedSources() throws IOException {
+        Dictionary dict = DictionaryLoader.load("test-words-simple.txt");
+        assertEquals(List.of("panic", "buggy", "crazy"), dict.getWords());
+        assertEquals(3, dict.getLoadReport().lines());
+
+        Path file = dir.resolve("cached.txt");
+        Files.writeString(file, "crane\nslate\n");
+        Dictionary cached = Dictionary.load("file:" + file);
+        assertEquals(List.of("crane", "slate"), cached.getWords());
+        assertSame(cached, Dictionary.load("file:" + file));
+        assertNull(Dictionary.of("memory", List.of("crane")).getLoadReport());
+    }
+
+    @Test
+    void missingOrEmptySourcesRejected() throws IOException {
+        assertThrows(IllegalStateException.class, () -> DictionaryLoader.load("no-such-words.txt"));
+        assertThrows(IOException.class, () -> DictionaryLoader.load("file:" + dir.resolve("none.txt")));
+        Path empty = dir.resolve("empty.txt");
+        Files.writeString(empty, "\n1234\n\n");
+        assertThrows(IllegalArgumentException.class, () -> DictionaryLoader.load("file:" + empty));
+    }
+
+    private static List<String> generated(int size, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            char[] chars = new char[5];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            words.add(new String(chars));
+        }
+        return new ArrayList<>(words);
+    }
+}
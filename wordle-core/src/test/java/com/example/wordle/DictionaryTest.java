@@ -0,0 +1,126 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Dictionary} covering loading, caching
+ * and sharing between games.
+ */
+class DictionaryTest {
+
+    private static final String SIMPLE_WORD_FILE = "test-words-simple.txt";
+
+    /**
+     * Loading the same resource twice should return the cached instance.
+     */
+    @Test
+    void loadReturnsSharedInstance() throws IOException {
+        Dictionary first = Dictionary.load(SIMPLE_WORD_FILE);
+        Dictionary second = Dictionary.load(SIMPLE_WORD_FILE);
+        assertSame(first, second, "load() should reuse the already parsed dictionary");
+        assertNotSame(first, Dictionary.read(SIMPLE_WORD_FILE),
+                "read() should always parse a fresh dictionary");
+    }
+
+    /**
+     * The dictionary should expose the words of the file in order.
+     */
+    @Test
+    void wordsMatchFile() throws IOException {
+        Dictionary dict = Dictionary.load(SIMPLE_WORD_FILE);
+        assertEquals(List.of("panic", "buggy", "crazy"), dict.getWords());
+        assertEquals(3, dict.size());
+        assertEquals("buggy", dict.getWord(1));
+        assertTrue(dict.contains("crazy"));
+        assertFalse(dict.contains("hello"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> dict.getWords().add("hello"),
+                "Word list must not be modifiable");
+    }
+
+    /**
+     * prepare() should build the letter masks up front, once.
+     */
+    @Test
+    void prepareBuildsIndexesOnce() throws IOException {
+        Dictionary dict = Dictionary.read(SIMPLE_WORD_FILE);
+        assertSame(dict, dict.prepare());
+        LetterMasks masks = dict.getLetterMasks();
+        assertSame(masks, dict.prepare().getLetterMasks());
+    }
+
+    /**
+     * Games created from a prototype should share its dictionary
+     * while keeping their own state.
+     */
+    @Test
+    void newGameSharesDictionary() throws IOException {
+        Dictionary dict = Dictionary.load(SIMPLE_WORD_FILE);
+        WordleGame prototype = new CheatingWordleGame(6, dict);
+        WordleGame copy = prototype.newGame();
+        assertTrue(copy instanceof CheatingWordleGame, "newGame() should keep the game kind");
+        assertSame(dict, copy.getDictionary());
+        copy.guess("panic");
+        assertEquals(1, copy.getTurnsUsed());
+        assertEquals(0, prototype.getTurnsUsed());
+    }
+
+    /**
+     * The packed index should find every word by id and reject
+     * anything that is not a 5-letter lowercase dictionary word.
+     */
+    @Test
+    void indexFindsEveryWord() {
+        List<String> words = new ArrayList<>();
+        for (char a = 'a'; a <= 'z'; a++) {
+            for (char b = 'a'; b <= 'z'; b++) {
+                words.add("" + a + b + "xyz");
+            }
+        }
+        Dictionary dict = Dictionary.of("generated", words);
+        for (int id = 0; id < words.size(); id++) {
+            assertEquals(id, dict.indexOf(words.get(id)));
+            assertEquals(words.get(id), PackedWord.unpack(dict.getPacked(id)));
+        }
+        assertEquals(-1, dict.indexOf("aaxyy"));
+        assertEquals(-1, dict.indexOf("AAXYZ"));
+        assertEquals(-1, dict.indexOf("aaxy"));
+        assertEquals(-1, dict.indexOf(null));
+    }
+
+    /**
+     * Words that cannot be packed should be rejected when building.
+     */
+    @Test
+    void invalidWordRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Dictionary.of("bad", List.of("hello", "toolong")));
+        assertThrows(IllegalArgumentException.class,
+                () -> Dictionary.of("empty", List.of()));
+    }
+
+    /**
+     * A repeated word should keep its first id, as when loading a file, so
+     * no id is left that a guess cannot reach.
+     */
+    @Test
+    void duplicateWordsKeepFirstId() {
+        Dictionary dict = Dictionary.of("dupes", List.of("hello", "crazy", "hello", "fresh", "crazy"));
+        assertEquals(List.of("hello", "crazy", "fresh"), dict.getWords());
+        assertEquals(3, dict.size());
+        for (int id = 0; id < dict.size(); id++) {
+            assertEquals(id, dict.indexOf(dict.getWord(id)));
+        }
+        assertEquals(3, new CheatingWordleGame(6, dict).getWordList().size());
+    }
+}
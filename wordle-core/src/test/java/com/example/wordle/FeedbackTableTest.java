@@ -0,0 +1,85 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link FeedbackTable} covering table contents,
+ * the on-disk cache and its use by {@link CheatingWordleGame}.
+ */
+class FeedbackTableTest {
+
+    private static final List<String> WORDS = List.of(
+        "apple", "angle", "alert", "later", "eerie", "sheep", "speed", "abide", "panic", "buggy");
+
+    @TempDir
+    Path tmp;
+
+    /**
+     * Every entry should equal the packed score of the pair.
+     */
+    @Test
+    void tableMatchesScorer() {
+        Dictionary dict = Dictionary.of("table", WORDS);
+        FeedbackTable table = FeedbackTable.build(dict);
+        assertEquals(WORDS.size() * WORDS.size(), table.getSizeBytes());
+        assertFalse(table.isMapped());
+        assertAllPairs(dict, table);
+    }
+
+    /**
+     * The cache file should be written once, then mapped, and rebuilt
+     * when it belongs to a different dictionary.
+     */
+    @Test
+    void cacheFileIsReusedAndValidated() throws IOException {
+        Dictionary dict = Dictionary.of("table", WORDS);
+        Path cache = tmp.resolve("feedback.bin");
+        FeedbackTable first = FeedbackTable.loadOrBuild(dict, cache);
+        assertTrue(first.isMapped());
+        assertTrue(Files.exists(cache));
+        assertAllPairs(dict, first);
+
+        FeedbackTable second = FeedbackTable.loadOrBuild(dict, cache);
+        assertAllPairs(dict, second);
+
+        // same size, different words: fingerprint must not match
+        List<String> reversed = new ArrayList<>();
+        for (String w : WORDS) {
+            reversed.add(new StringBuilder(w).reverse().toString());
+        }
+        Dictionary other = Dictionary.of("other", reversed);
+        FeedbackTable rebuilt = FeedbackTable.loadOrBuild(other, cache);
+        assertAllPairs(other, rebuilt);
+    }
+
+    /**
+     * A cheating game backed by the table should behave like one that scores on the fly.
+     */
+    @Test
+    void cheatingGameUsesTable() throws IOException {
+        Dictionary dict = Dictionary.load("test-words-simple.txt");
+        CheatingWordleGame game = new CheatingWordleGame(6, dict, FeedbackTable.build(dict));
+        assertFalse(game.guess("panic"));
+        assertEquals(List.of("buggy"), game.getWordList());
+        assertTrue(game.guess("buggy"));
+    }
+
+    private static void assertAllPairs(Dictionary dict, FeedbackTable table) {
+        for (int g = 0; g < dict.size(); g++) {
+            for (int a = 0; a < dict.size(); a++) {
+                assertEquals(WordleScorer.scorePacked(dict.getPacked(g), dict.getPacked(a)),
+                        table.pattern(g, a), dict.getWord(g) + " vs " + dict.getWord(a));
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GameSnapshot} covering round trips of normal and
+ * cheating games and rejection of snapshots that do not fit the prototype.
+ */
+class GameSnapshotTest {
+
+    /**
+     * A normal game should come back with the same answer, turns and
+     * feedback, as a separate game sharing the prototype's dictionary.
+     */
+    @Test
+    void normalGameRoundTrip() throws IOException {
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        game.guess("fresh");
+        game.guess("hello");
+
+        ByteBuffer snapshot = GameSnapshot.encode(game);
+        assertEquals(GameSnapshot.HEADER_BYTES + 8, snapshot.remaining(), "4 bytes per guess");
+        WordleGame restored = GameSnapshot.decode(snapshot, game);
+
+        assertNotSame(game, restored);
+        assertSame(game.getDictionary(), restored.getDictionary());
+        assertEquals("crazy", restored.getAnswer());
+        assertEquals(2, restored.getTurnsUsed());
+        assertArrayEquals(game.getLastMarks(), restored.getLastMarks());
+        assertArrayEquals(game.getState().getGuessIds(), restored.getState().getGuessIds());
+        assertFalse(snapshot.hasRemaining(), "decode should consume the snapshot");
+
+        assertTrue(restored.guess("crazy"));
+        assertEquals(2, game.getTurnsUsed(), "the original game must not change");
+    }
+
+    /**
+     * A cheating game should replay to the same candidate set, and a
+     * finished one to the same answer.
+     */
+    @Test
+    void cheatingGameReplaysGuesses() throws IOException {
+        WordleGame game = new CheatingWordleGame(3, "words.txt");
+        game.guess("hello");
+        game.guess("crazy");
+
+        WordleGame restored = GameSnapshot.decode(GameSnapshot.encode(game), game);
+        assertTrue(restored instanceof CheatingWordleGame);
+        assertEquals(game.getWordList(), restored.getWordList());
+        assertEquals(2, restored.getTurnsUsed());
+
+        game.guess("quite");
+        assertTrue(game.isOver());
+        WordleGame finished = GameSnapshot.decode(GameSnapshot.encode(game), game);
+        assertTrue(finished.isOver());
+        assertEquals(game.getAnswer(), finished.getAnswer());
+    }
+
+    /**
+     * Snapshots should be written to and read from one shared buffer
+     * back to back.
+     */
+    @Test
+    void manySnapshotsInOneBuffer() throws IOException {
+        WordleGame prototype = new WordleGame(6, "words.txt", "crazy");
+        List<String> guesses = List.of("fresh", "fancy", "hello");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        for (int turns = 0; turns <= guesses.size(); turns++) {
+            WordleGame game = prototype.newGame(prototype.getDictionary().indexOf("crazy"));
+            for (String g : guesses.subList(0, turns)) {
+                game.guess(g);
+            }
+            GameSnapshot.encode(game, game.getState(), buffer);
+        }
+        buffer.flip();
+        for (int turns = 0; turns <= guesses.size(); turns++) {
+            assertEquals(turns, GameSnapshot.decode(buffer, prototype).getTurnsUsed());
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Snapshots should only restore into a game of the same kind,
+     * dictionary and maxTurns.
+     */
+    @Test
+    void mismatchedPrototypeRejected() throws IOException {
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        game.guess("fresh");
+        ByteBuffer snapshot = GameSnapshot.encode(game);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.decode(snapshot.duplicate(), new CheatingWordleGame(6, "words.txt")));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.decode(snapshot.duplicate(), new WordleGame(5, "words.txt", "crazy")));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.decode(snapshot.duplicate(),
+                        new WordleGame(6, Dictionary.of("other", List.of("crazy", "fresh")), "crazy")));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.decode(ByteBuffer.allocate(64), game));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.wordle;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LetterMasks} checking that mask narrowing keeps
+ * exactly the words that score the observed pattern.
+ */
+class LetterMasksTest {
+
+    @Test
+    void narrowMatchesScoring() {
+        // small alphabet so repeated letters and exact counts are common
+        Random random = new Random(3);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < 300) {
+            char[] chars = new char[5];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(5));
+            }
+            words.add(new String(chars));
+        }
+        Dictionary dict = Dictionary.of("masks", words);
+        LetterMasks masks = dict.getLetterMasks();
+        for (int n = 0; n < 500; n++) {
+            int guess = dict.getPacked(random.nextInt(dict.size()));
+            int pattern = WordleScorer.scorePacked(guess, dict.getPacked(random.nextInt(dict.size())));
+            long[] bits = WordBits.full(dict.size());
+            masks.narrow(bits, guess, pattern);
+            for (int id = 0; id < dict.size(); id++) {
+                boolean expected = WordleScorer.scorePacked(guess, dict.getPacked(id)) == pattern;
+                assertEquals(expected, WordBits.get(bits, id),
+                        PackedWord.unpack(guess) + " / " + dict.getWord(id) + " / " + pattern);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.wordle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Solver}: scores against a brute-force reference,
+ * ranking order, candidates of normal and cheating games, parallel ranking
+ * and the shared opening.
+ */
+class SolverTest {
+
+    private final WordleScorer scorer = new WordleScorer();
+
+    /**
+     * Every suggestion's entropy and worst case should match a reference
+     * computed from the remaining words with the plain scorer.
+     */
+    @Test
+    void scoresMatchReference() {
+        Dictionary dict = generated("solver-scores", 300, 1);
+        WordleGame game = new WordleGame(6, dict, dict.getWord(42));
+        game.guess(dict.getWord(7));
+
+        List<String> remaining = remaining(dict, dict.getWord(42), List.of(dict.getWord(7)));
+        Solver.Hint hint = new Solver(dict).hint(game, Solver.Strategy.ENTROPY, 20);
+        assertEquals(remaining.size(), hint.remaining());
+        assertEquals(20, hint.suggestions().size());
+        for (Solver.Suggestion s : hint.suggestions()) {
+            int[] counts = histogram(s.word(), remaining);
+            int worst = 0;
+            double entropy = 0;
+            for (int c : counts) {
+                if (c > 0) {
+                    double p = c / (double) remaining.size();
+                    entropy -= p * Math.log(p) / Math.log(2);
+                    worst = Math.max(worst, c);
+                }
+            }
+            assertEquals(entropy, s.entropy(), 1e-9, s.word());
+            assertEquals(worst, s.worstCase(), s.word());
+            assertEquals(remaining.contains(s.word()), s.candidate(), s.word());
+        }
+    }
+
+    /**
+     * Suggestions should come best first by the strategy's score, and the
+     * first one should be the best of all words.
+     */
+    @Test
+    void suggestionsAreRanked() {
+        Dictionary dict = generated("solver-rank", 300, 2);
+        WordleGame game = new WordleGame(6, dict, dict.getWord(3));
+        game.guess(dict.getWord(150));
+        Solver solver = new Solver(dict);
+
+        List<Solver.Suggestion> byEntropy = solver.hint(game, Solver.Strategy.ENTROPY, 50).suggestions();
+        List<Solver.Suggestion> byWorst = solver.hint(game, Solver.Strategy.MINIMAX, 50).suggestions();
+        for (int i = 1; i < 50; i++) {
+            assertTrue(byEntropy.get(i - 1).entropy() >= byEntropy.get(i).entropy());
+            assertTrue(byWorst.get(i - 1).worstCase() <= byWorst.get(i).worstCase());
+        }
+
+        List<String> remaining = remaining(dict, dict.getWord(3), List.of(dict.getWord(150)));
+        int bestWorst = Integer.MAX_VALUE;
+        for (String word : dict.getWords()) {
+            int worst = 0;
+            for (int c : histogram(word, remaining)) {
+                worst = Math.max(worst, c);
+            }
+            bestWorst = Math.min(bestWorst, worst);
+        }
+        assertEquals(bestWorst, byWorst.get(0).worstCase());
+    }
+
+    /**
+     * Once a single word remains, it should be the top suggestion.
+     */
+    @Test
+    void lastCandidateIsSuggested() throws IOException {
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        game.guess("fancy");
+        game.guess("hello");
+
+        Solver.Hint hint = new Solver(game.getDictionary()).hint(game, Solver.Strategy.ENTROPY, 3);
+        assertEquals(1, hint.remaining());
+        assertEquals("crazy", hint.suggestions().get(0).word());
+        assertTrue(hint.suggestions().get(0).candidate());
+    }
+
+    /**
+     * A cheating game's hint should use the host's remaining candidates.
+     */
+    @Test
+    void cheatingGameUsesHostCandidates() {
+        Dictionary dict = generated("solver-cheat", 300, 3);
+        CheatingWordleGame game = new CheatingWordleGame(6, dict);
+        game.guess(dict.getWord(0));
+
+        Solver.Hint hint = new Solver(dict).hint(game, Solver.Strategy.MINIMAX, 5);
+        assertEquals(game.getWordList().size(), hint.remaining());
+    }
+
+    /**
+     * Ranking in the pool should give the same suggestions as sequentially.
+     */
+    @Test
+    void parallelRankingMatchesSequential() {
+        Dictionary dict = generated("solver-parallel", 2000, 4);
+        WordleGame game = new WordleGame(6, dict, dict.getWord(10));
+        game.guess(dict.getWord(20));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Solver sequential = new Solver(dict, null, pool, Integer.MAX_VALUE);
+            Solver parallel = new Solver(dict, null, pool, 1);
+            Solver table = new Solver(dict, FeedbackTable.build(dict), pool, 1);
+            for (Solver.Strategy strategy : Solver.Strategy.values()) {
+                Solver.Hint expected = sequential.hint(game, strategy, Solver.MAX_SUGGESTIONS);
+                assertEquals(expected, parallel.hint(game, strategy, Solver.MAX_SUGGESTIONS));
+                assertEquals(expected, table.hint(game, strategy, Solver.MAX_SUGGESTIONS));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The opening should be computed once per dictionary and shared by
+     * every solver on it.
+     */
+    @Test
+    void openingIsShared() {
+        Dictionary dict = generated("solver-opening", 300, 5);
+        List<Solver.Suggestion> first = new Solver(dict).opening(Solver.Strategy.ENTROPY);
+        assertSame(first, new Solver(dict).opening(Solver.Strategy.ENTROPY));
+        assertEquals(Solver.MAX_SUGGESTIONS, first.size());
+
+        WordleGame game = new WordleGame(6, dict);
+        Solver.Hint hint = new Solver(dict).hint(game, Solver.Strategy.ENTROPY, 5);
+        assertEquals(dict.size(), hint.remaining());
+        assertEquals(first.subList(0, 5), hint.suggestions());
+    }
+
+    /**
+     * Forgotten openings should be computed again, with the same result.
+     */
+    @Test
+    void forgottenOpeningIsRecomputed() {
+        Dictionary dict = generated("solver-forget", 200, 8);
+        List<Solver.Suggestion> first = new Solver(dict).opening(Solver.Strategy.MINIMAX);
+        Solver.forgetOpenings(dict.getFingerprint());
+        List<Solver.Suggestion> again = new Solver(dict).opening(Solver.Strategy.MINIMAX);
+        assertNotSame(first, again);
+        assertEquals(first, again);
+    }
+
+    @Test
+    void otherDictionaryAndBadLimitRejected() throws IOException {
+        Dictionary dict = generated("solver-other", 50, 6);
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        assertThrows(IllegalArgumentException.class,
+                () -> new Solver(dict).hint(game, Solver.Strategy.ENTROPY, 5));
+        Solver solver = new Solver(game.getDictionary());
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.hint(game, Solver.Strategy.ENTROPY, Solver.MAX_SUGGESTIONS + 1));
+    }
+
+    private int[] histogram(String guess, List<String> remaining) {
+        int[] counts = new int[WordleScorer.PATTERN_COUNT];
+        for (String cand : remaining) {
+            counts[WordleScorer.toPattern(scorer.score(guess, cand))]++;
+        }
+        return counts;
+    }
+
+    /**
+     * words giving the same feedback as the answer for every guess
+     */
+    private List<String> remaining(Dictionary dict, String answer, List<String> guesses) {
+        List<String> remaining = new ArrayList<>();
+        for (String word : dict.getWords()) {
+            boolean consistent = true;
+            for (String guess : guesses) {
+                consistent &= WordleScorer.toPattern(scorer.score(guess, word))
+                        == WordleScorer.toPattern(scorer.score(guess, answer));
+            }
+            if (consistent) {
+                remaining.add(word);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * small alphabet so guesses split the words into many buckets
+     */
+    private static Dictionary generated(String name, int size, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            char[] chars = new char[5];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(8));
+            }
+            words.add(new String(chars));
+        }
+        return Dictionary.of(name, words);
+    }
+}
@@ -2,12 +2,29 @@
 package com.example.wordle;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Unit tests for {@link WordleGame} covering winning, invalid input,
@@ -36,6 +53,19 @@ class WordleGameTest {
             assertEquals(WordleScorer.Mark.HIT, mark,
                     "All marks should be HIT for a correct guess");
         }
+        assertEquals(WordleScorer.ALL_HIT, game.getState().getLastPattern());
+    }
+
+    /**
+     * The last pattern should match the last marks, and be -1 before the
+     * first guess.
+     */
+    @Test
+    void testLastPatternMatchesMarks() throws IOException {
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        assertEquals(-1, game.getState().getLastPattern());
+        WordleGame.State state = game.play("hello");
+        assertEquals(WordleScorer.toPattern(state.getLastMarks()), state.getLastPattern());
     }
 
     /**
@@ -71,4 +101,82 @@ class WordleGameTest {
                 () -> game.guess("fresh"),
                 "Further guesses after game over should throw IllegalStateException");
     }
+
+    /**
+     * Test that thousands of concurrent guesses on one game are applied
+     * one at a time: exactly maxTurns succeed, each sees a distinct turn,
+     * and the rest are rejected as game over.
+     */
+    @Test
+    void testConcurrentGuessesAreSerialized() throws Exception {
+        int submits = 5000;
+        int maxTurns = 1000;
+        WordleGame game = new WordleGame(maxTurns, "words.txt", "crazy");
+        Set<Integer> turnsSeen = ConcurrentHashMap.newKeySet();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < submits; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        WordleGame.State s = game.play("fresh");
+                        assertTrue(turnsSeen.add(s.getTurnsUsed()), "turn reported twice");
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(maxTurns, accepted.get());
+        assertEquals(submits - maxTurns, rejected.get());
+        assertEquals(maxTurns, game.getTurnsUsed());
+        assertEquals(maxTurns, turnsSeen.size());
+        assertTrue(game.isOver());
+        assertFalse(game.hasWon());
+    }
+
+    /**
+     * Test that a recording enabling the guess event gets one event per
+     * played guess, and none for a rejected one.
+     */
+    @Test
+    void testGuessEventRecorded(@TempDir Path dir) throws IOException {
+        WordleGame game = new WordleGame(6, "words.txt", "crazy");
+        game.setLabel("game-1");
+        Path file = dir.resolve("guesses.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.wordle.Guess").withThreshold(Duration.ZERO);
+            recording.start();
+            game.guess("hello");
+            assertThrows(IllegalArgumentException.class, () -> game.guess("zzzzz"));
+            game.guess("crazy");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size(), "one event per played guess");
+        RecordedEvent first = events.get(0);
+        assertEquals("game-1", first.getString("game"));
+        assertEquals("hello", first.getString("guess"));
+        assertEquals(1, first.getInt("turn"));
+        assertFalse(first.getBoolean("cheating"));
+        assertEquals(1, first.getInt("candidatesBefore"));
+        assertEquals(1, first.getInt("attempts"));
+        assertTrue(first.getDuration("scoringDuration").toNanos() >= 0);
+        assertEquals("crazy", events.get(1).getString("guess"));
+        assertEquals(2, events.get(1).getInt("turn"));
+    }
 }
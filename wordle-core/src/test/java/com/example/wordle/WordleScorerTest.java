@@ -3,6 +3,8 @@
  */
 package com.example.wordle;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,4 +80,52 @@ class WordleScorerTest {
         assertEquals(WordleScorer.Mark.HIT,    marks[3], "Letter 'l' should be HIT");
         assertEquals(WordleScorer.Mark.HIT,    marks[4], "Letter 'e' should be HIT");
     }
+
+    /**
+     * Test that the packed scoring path agrees with the Mark array path
+     * for the cases above and for random words with many repeated letters.
+     */
+    @Test
+    void testPackedMatchesMarks() {
+        WordleScorer scorer = new WordleScorer();
+        String[][] pairs = {
+            {"apple", "apple"}, {"abcde", "fghij"}, {"alert", "later"},
+            {"apple", "angle"}, {"eerie", "sheep"}, {"speed", "abide"}
+        };
+        for (String[] p : pairs) {
+            assertPackedMatches(scorer, p[0], p[1]);
+        }
+        Random random = new Random(7);
+        for (int n = 0; n < 20_000; n++) {
+            assertPackedMatches(scorer, randomWord(random), randomWord(random));
+        }
+    }
+
+    /**
+     * Test pattern conversion helpers round-trip over all 243 patterns.
+     */
+    @Test
+    void testPatternRoundTrip() {
+        for (int pattern = 0; pattern < WordleScorer.PATTERN_COUNT; pattern++) {
+            assertEquals(pattern, WordleScorer.toPattern(WordleScorer.toMarks(pattern)));
+        }
+        for (WordleScorer.Mark mark : WordleScorer.toMarks(WordleScorer.ALL_HIT)) {
+            assertEquals(WordleScorer.Mark.HIT, mark, "ALL_HIT should decode to five HIT marks");
+        }
+    }
+
+    private static void assertPackedMatches(WordleScorer scorer, String guess, String answer) {
+        int pattern = WordleScorer.scorePacked(PackedWord.pack(guess), PackedWord.pack(answer));
+        assertArrayEquals(scorer.score(guess, answer), WordleScorer.toMarks(pattern),
+                guess + " vs " + answer);
+    }
+
+    private static String randomWord(Random random) {
+        // small alphabet so duplicate letters are common
+        char[] chars = new char[5];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
 }
@@ -0,0 +1,286 @@
+package com.example.wordle.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.GameService;
+import com.example.wordle.server.ProgressBroadcaster;
+import com.example.wordle.server.SessionStore;
+import com.example.wordle.server.dto.BatchGuess;
+import com.example.wordle.server.dto.ProgressEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * request handlers for GameRouterConfig. Lookups and, for normal games kept
+ * in memory, creating, joining and guessing never wait, so they run on the
+ * event loop. Calls that can block stay off it, on the bounded elastic
+ * scheduler: cheating guesses partition the candidates on the fork/join
+ * pool, journaled stores may wait on a full queue, and hints and candidate
+ * scans are CPU-heavy.
+ */
+@Component
+public class GameHandler {
+    private static final Logger log = LoggerFactory.getLogger(GameHandler.class);
+
+    private static final ParameterizedTypeReference<Map<String, String>> GUESS_BODY =
+        new ParameterizedTypeReference<>() { };
+
+    private static final ParameterizedTypeReference<List<BatchGuess>> BATCH_BODY =
+        new ParameterizedTypeReference<>() { };
+
+    private static final ParameterizedTypeReference<ServerSentEvent<ProgressEvent>> EVENT_TYPE =
+        new ParameterizedTypeReference<>() { };
+
+    private final GameService svc;
+    private final SessionStore games;
+    private final DictionaryRegistry dictionaries;
+    // create, join and guess on the event loop
+    private final boolean nonBlocking;
+    private final int queueSize;
+
+    public GameHandler(GameService svc, SessionStore games, DictionaryRegistry dictionaries,
+                       @Value("${wordle.progress.queueSize:256}") int queueSize) {
+        this.svc = svc;
+        this.games = games;
+        this.dictionaries = dictionaries;
+        this.queueSize = queueSize;
+        this.nonBlocking = svc.isNonBlocking();
+        log.info("Game calls run on {}", nonBlocking ? "the event loop" : "the bounded elastic scheduler");
+    }
+
+    /**
+     * create a new game, returns gameId
+     */
+    public Mono<ServerResponse> newGame(ServerRequest req) {
+        return play(() -> Map.of("gameId", svc.createGame()));
+    }
+
+    /**
+     * player joins an existing game, returns playerId
+     */
+    public Mono<ServerResponse> joinGame(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        return play(() -> Map.of("playerId", svc.joinGame(gameId)));
+    }
+
+    /**
+     * submit a guess for a specific player; invalid guesses are a 400 with a message
+     */
+    public Mono<ServerResponse> guess(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        UUID playerId = uuid(req.headers().firstHeader("X-Player-Id"));
+        return req.bodyToMono(GUESS_BODY)
+            .defaultIfEmpty(Map.of())
+            .flatMap(body -> play(() -> svc.submitGuess(gameId, playerId, body.get("guess"))))
+            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest()
+                .bodyValue(Map.of("message", e.getMessage())));
+    }
+
+    /**
+     * submit many guesses of any games and players in one request; each
+     * item gets its own status, in the order of the request
+     */
+    public Mono<ServerResponse> guesses(ServerRequest req) {
+        return req.bodyToMono(BATCH_BODY)
+            .defaultIfEmpty(List.of())
+            .flatMap(batch -> play(() -> svc.submitGuesses(batch)))
+            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest()
+                .bodyValue(Map.of("message", e.getMessage())));
+    }
+
+    /**
+     * suggest next guesses for a player, best first
+     */
+    public Mono<ServerResponse> hint(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        UUID playerId = uuid(req.headers().firstHeader("X-Player-Id"));
+        String strategy = req.queryParam("strategy").orElse("entropy");
+        int limit = intParam(req, "limit", 5);
+        return ok(() -> svc.getHint(gameId, playerId, strategy, limit))
+            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest()
+                .bodyValue(Map.of("message", e.getMessage())));
+    }
+
+    /**
+     * get overall progress for all players
+     */
+    public Mono<ServerResponse> progress(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        return now(() -> svc.getProgress(gameId));
+    }
+
+    /**
+     * stream every player's progress as server-sent events: the current
+     * state of each player, then one event per join and guess. As on the MVC
+     * server, a spectator more than wordle.progress.queueSize events behind
+     * is disconnected
+     */
+    public Mono<ServerResponse> events(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        // subscribe before committing to a stream, so a missing game is a 400
+        return Mono.fromSupplier(() -> subscribe(gameId))
+            .flatMap(events -> ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, EVENT_TYPE))
+            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest()
+                .bodyValue(Map.of("message", e.getMessage())));
+    }
+
+    /**
+     * listen to a game's progress through a bounded buffer; the stream ends
+     * once the buffer is full, and stops listening when it ends or the
+     * client goes away
+     */
+    private Flux<ServerSentEvent<ProgressEvent>> subscribe(UUID gameId) {
+        Sinks.Many<ProgressEvent> sink = Sinks.many().unicast()
+            .onBackpressureBuffer(new ArrayBlockingQueue<>(queueSize));
+        Runnable unsubscribe = svc.subscribeProgress(gameId, new ProgressBroadcaster.Listener() {
+            // guesses publish from many threads, a sink takes one at a time
+            @Override
+            public synchronized void onEvent(ProgressEvent event) {
+                if (sink.tryEmitNext(event) == Sinks.EmitResult.FAIL_OVERFLOW) {
+                    sink.tryEmitComplete();
+                }
+            }
+
+            @Override
+            public synchronized void onClose() {
+                sink.tryEmitComplete();
+            }
+        });
+        return sink.asFlux()
+            .map(event -> ServerSentEvent.builder(event).event(event.type()).build())
+            .doFinally(signal -> unsubscribe.run());
+    }
+
+    /**
+     * legacy single-player state endpoint
+     */
+    public Mono<ServerResponse> state(ServerRequest req) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        return now(() -> svc.getState(gameId));
+    }
+
+    /**
+     * live and evicted game/player counts
+     */
+    public Mono<ServerResponse> sessions(ServerRequest req) {
+        return now(games::getStats);
+    }
+
+    /**
+     * the current word list version and retired ones still used by games
+     */
+    public Mono<ServerResponse> dictionary(ServerRequest req) {
+        return now(dictionaries::getVersions);
+    }
+
+    /**
+     * read wordle.wordFile again and use it for new games; the new version
+     * is built on the reload thread, never on the event loop
+     */
+    public Mono<ServerResponse> reloadDictionary(ServerRequest req) {
+        return Mono.fromFuture(dictionaries::reload)
+            .flatMap(version -> ServerResponse.ok().bodyValue(version))
+            .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .bodyValue(Map.of("message", "reload failed: " + cause(e).getMessage())));
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * remaining candidates of a game's host instance, paginated
+     */
+    public Mono<ServerResponse> gameCandidates(ServerRequest req) {
+        return candidates(req, null);
+    }
+
+    /**
+     * remaining candidates of one player's game, paginated
+     */
+    public Mono<ServerResponse> playerCandidates(ServerRequest req) {
+        return candidates(req, uuid(req.pathVariable("playerId")));
+    }
+
+    private Mono<ServerResponse> candidates(ServerRequest req, UUID playerId) {
+        UUID gameId = uuid(req.pathVariable("gameId"));
+        int offset = intParam(req, "offset", 0);
+        int limit = intParam(req, "limit", 20);
+        return ok(() -> svc.getCandidates(gameId, playerId, offset, limit))
+            .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest()
+                .bodyValue(Map.of("message", e.getMessage())));
+    }
+
+    /**
+     * create, join or guess: on the event loop if those never wait
+     */
+    private Mono<ServerResponse> play(Supplier<Object> call) {
+        return nonBlocking ? now(call) : ok(call);
+    }
+
+    /**
+     * a call that never waits, on the calling thread
+     */
+    private static Mono<ServerResponse> now(Supplier<Object> call) {
+        return Mono.fromSupplier(call)
+            .flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    /**
+     * a call that can block, on the bounded elastic scheduler
+     */
+    private static Mono<ServerResponse> ok(Supplier<Object> call) {
+        return Mono.fromSupplier(call)
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    /**
+     * malformed ids are a 400, as with MVC's argument conversion
+     */
+    private static UUID uuid(String value) {
+        if (value == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "missing id");
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid id " + value);
+        }
+    }
+
+    private static int intParam(ServerRequest req, String name, int fallback) {
+        String value = req.queryParam(name).orElse(null);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid " + name + " " + value);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.wordle.reactive;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.example.wordle.server.GameCapacityException;
+
+/**
+ * same paths and payloads as the MVC GameController and AdminController
+ */
+@Configuration
+public class GameRouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> gameRoutes(GameHandler games) {
+        return RouterFunctions.route()
+            .POST("/games", games::newGame)
+            .POST("/games/guesses", games::guesses)
+            .POST("/games/{gameId}/join", games::joinGame)
+            .POST("/games/{gameId}/guesses", games::guess)
+            .GET("/games/{gameId}/hint", games::hint)
+            .GET("/games/{gameId}/progress", games::progress)
+            .GET("/games/{gameId}/events", games::events)
+            .GET("/games/{gameId}", games::state)
+            .GET("/admin/sessions", games::sessions)
+            .GET("/admin/dictionary", games::dictionary)
+            .POST("/admin/dictionary/reload", games::reloadDictionary)
+            .GET("/admin/games/{gameId}/candidates", games::gameCandidates)
+            .GET("/admin/games/{gameId}/players/{playerId}/candidates", games::playerCandidates)
+            // game or player cap reached: 503 so clients back off and retry
+            .onError(GameCapacityException.class, (e, req) -> ServerResponse
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .bodyValue(Map.of("message", e.getMessage())))
+            // the player's game is already over
+            .onError(IllegalStateException.class, (e, req) -> ServerResponse
+                .status(HttpStatus.CONFLICT)
+                .bodyValue(Map.of("message", e.getMessage())))
+            .build();
+    }
+}
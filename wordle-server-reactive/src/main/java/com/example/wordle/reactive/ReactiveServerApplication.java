@@ -0,0 +1,26 @@
+package com.example.wordle.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.example.wordle.server.GameService;
+import com.example.wordle.server.config.MetricsConfig;
+import com.example.wordle.server.config.SessionStoreConfig;
+import com.example.wordle.server.config.WordleGameConfig;
+
+/**
+ * WebFlux (Netty) variant of wordle-server: the same game logic and settings,
+ * served by a few event-loop threads instead of a thread per request.
+ * The MVC controllers are not scanned; only the game configuration and
+ * GameService are imported.
+ */
+@SpringBootApplication
+@Import({WordleGameConfig.class, SessionStoreConfig.class, MetricsConfig.class, GameService.class})
+@EnableScheduling
+public class ReactiveServerApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveServerApplication.class, args);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.wordle.reactive;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.wordle.server.dto.ProgressEvent;
+
+/**
+ * Contract tests for the reactive server, wired as in production from
+ * wordle-server's configuration: games, joins, guesses, batches, progress
+ * and its event stream, with the same 400, 409 and 503 answers as the MVC
+ * server. Games last one turn, so a single guess finishes one.
+ */
+@SpringBootTest(
+    classes = ReactiveServerApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "wordle.mode=normal",
+        "wordle.maxTurns=1",
+        "wordle.session.maxPlayers=8",
+        "wordle.solver.warmOpening=false"
+    })
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GameRouterContractTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP =
+        new ParameterizedTypeReference<>() { };
+    private static final ParameterizedTypeReference<ServerSentEvent<ProgressEvent>> EVENT =
+        new ParameterizedTypeReference<>() { };
+
+    @Autowired
+    private WebTestClient client;
+
+    /**
+     * A guess should return its feedback; a word outside the list is a 400,
+     * and a guess once the game is over a 409.
+     */
+    @Test
+    @Order(1)
+    void guessesAnswerFeedbackThenConflict() {
+        UUID gameId = createGame();
+        UUID playerId = join(gameId);
+        guess(gameId, playerId, "zzzzz").expectStatus().isBadRequest()
+            .expectBody(MAP).value(body -> assertTrue(body.containsKey("message")));
+        guess(gameId, playerId, "hello").expectStatus().isOk()
+            .expectBody(MAP).value(body -> {
+                assertEquals(5, ((List<?>) body.get("marks")).size());
+                assertEquals(1, body.get("turnsUsed"));
+                assertEquals(true, body.get("isOver"));
+            });
+        guess(gameId, playerId, "hello").expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Malformed ids are a 400, as with MVC's argument conversion.
+     */
+    @Test
+    @Order(2)
+    void malformedIdsAreBadRequest() {
+        client.post().uri("/games/not-a-uuid/join").exchange()
+            .expectStatus().isBadRequest();
+        client.post().uri("/games/{id}/guesses", UUID.randomUUID())
+            .header("X-Player-Id", "not-a-uuid")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("guess", "hello"))
+            .exchange()
+            .expectStatus().isBadRequest();
+        client.get().uri("/games/not-a-uuid/progress").exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Batch items should each get their own status, in request order, and
+     * an oversized batch is a 400 as a whole.
+     */
+    @Test
+    @Order(3)
+    void batchAnswersEachItem() {
+        UUID gameId = createGame();
+        UUID playerId = join(gameId);
+        List<Map<String, Object>> batch = List.of(
+            Map.of("gameId", gameId, "playerId", playerId, "guess", "hello"),
+            Map.of("gameId", gameId, "playerId", playerId, "guess", "hello"),
+            Map.of("gameId", UUID.randomUUID(), "playerId", playerId, "guess", "hello"));
+        client.post().uri("/games/guesses").contentType(MediaType.APPLICATION_JSON).bodyValue(batch)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(MAP).value(results -> {
+                assertEquals(3, results.size());
+                assertEquals(200, results.get(0).get("status"));
+                assertEquals(409, results.get(1).get("status"), "the game ended with the first guess");
+                assertEquals(400, results.get(2).get("status"));
+            });
+
+        List<Map<String, Object>> oversized = Collections.nCopies(1001,
+            Map.of("gameId", gameId, "playerId", playerId, "guess", "hello"));
+        client.post().uri("/games/guesses").contentType(MediaType.APPLICATION_JSON).bodyValue(oversized)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Progress should list every player of the game and their turns.
+     */
+    @Test
+    @Order(4)
+    void progressListsPlayers() {
+        UUID gameId = createGame();
+        UUID playerId = join(gameId);
+        guess(gameId, playerId, "hello").expectStatus().isOk();
+        client.get().uri("/games/{id}/progress", gameId).exchange()
+            .expectStatus().isOk()
+            .expectBodyList(MAP).value(players -> {
+                assertEquals(1, players.size());
+                assertEquals(playerId.toString(), players.get(0).get("playerId"));
+                assertEquals(1, players.get(0).get("turnsUsed"));
+            });
+    }
+
+    /**
+     * The event stream should start with each player's current state and
+     * then carry every guess; for an unknown game it is a 400, not a stream.
+     */
+    @Test
+    @Order(5)
+    void eventsStreamStateThenGuesses() {
+        UUID gameId = createGame();
+        UUID playerId = join(gameId);
+        var events = client.get().uri("/games/{id}/events", gameId)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isOk()
+            .returnResult(EVENT)
+            .getResponseBody();
+        guess(gameId, playerId, "hello").expectStatus().isOk();
+
+        List<ServerSentEvent<ProgressEvent>> received = events.take(2).collectList().block(Duration.ofSeconds(10));
+        assertEquals("progress", received.get(0).event());
+        assertEquals(playerId, received.get(0).data().playerId());
+        assertEquals(0, received.get(0).data().turnsUsed());
+        assertEquals("guess", received.get(1).event());
+        assertEquals(1, received.get(1).data().turnsUsed());
+
+        client.get().uri("/games/{id}/events", UUID.randomUUID())
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Joining past wordle.session.maxPlayers is a 503. Runs last, since the
+     * players it adds are never released.
+     */
+    @Test
+    @Order(6)
+    void playerCapIsServiceUnavailable() {
+        UUID gameId = createGame();
+        int status = 0;
+        for (int i = 0; i <= 8 && status != 503; i++) {
+            status = client.post().uri("/games/{id}/join", gameId).exchange()
+                .returnResult(MAP).getStatus().value();
+        }
+        assertEquals(503, status);
+    }
+
+    private UUID createGame() {
+        Map<String, Object> body = client.post().uri("/games").exchange()
+            .expectStatus().isOk()
+            .expectBody(MAP).returnResult().getResponseBody();
+        return UUID.fromString((String) body.get("gameId"));
+    }
+
+    private UUID join(UUID gameId) {
+        Map<String, Object> body = client.post().uri("/games/{id}/join", gameId).exchange()
+            .expectStatus().isOk()
+            .expectBody(MAP).returnResult().getResponseBody();
+        return UUID.fromString((String) body.get("playerId"));
+    }
+
+    private WebTestClient.ResponseSpec guess(UUID gameId, UUID playerId, String word) {
+        return client.post().uri("/games/{id}/guesses", gameId)
+            .header("X-Player-Id", playerId.toString())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("guess", word))
+            .exchange();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.wordle.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.wordle.server.dto.CandidateSample;
+import com.example.wordle.server.dto.DictionaryInfo;
+import com.example.wordle.server.dto.SessionStats;
+
+/**
+ * diagnostics for operators; not used by game clients
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final GameService svc;
+    private final SessionStore games;
+    private final DictionaryRegistry dictionaries;
+
+    @Autowired
+    public AdminController(GameService svc, SessionStore games, DictionaryRegistry dictionaries) {
+        this.svc = svc;
+        this.games = games;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * live and evicted game/player counts
+     */
+    @GetMapping("/sessions")
+    public SessionStats sessions() {
+        return games.getStats();
+    }
+
+    /**
+     * the current word list version and retired ones still used by games
+     */
+    @GetMapping("/dictionary")
+    public List<DictionaryInfo> dictionary() {
+        return dictionaries.getVersions();
+    }
+
+    /**
+     * read wordle.wordFile again and use it for new games; answers once the
+     * new version is published, without holding a request thread meanwhile
+     */
+    @PostMapping("/dictionary/reload")
+    public CompletableFuture<ResponseEntity<?>> reloadDictionary() {
+        return dictionaries.reload()
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("message", "reload failed: " + cause(e).getMessage())));
+    }
+
+    private static Throwable cause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * remaining candidates of a game's host instance, paginated
+     */
+    @GetMapping("/games/{gameId}/candidates")
+    public ResponseEntity<?> gameCandidates(
+        @PathVariable UUID gameId,
+        @RequestParam(defaultValue = "0") int offset,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return candidates(gameId, null, offset, limit);
+    }
+
+    /**
+     * remaining candidates of one player's game, paginated
+     */
+    @GetMapping("/games/{gameId}/players/{playerId}/candidates")
+    public ResponseEntity<?> playerCandidates(
+        @PathVariable UUID gameId,
+        @PathVariable UUID playerId,
+        @RequestParam(defaultValue = "0") int offset,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        return candidates(gameId, playerId, offset, limit);
+    }
+
+    private ResponseEntity<?> candidates(UUID gameId, UUID playerId, int offset, int limit) {
+        try {
+            CandidateSample sample = svc.getCandidates(gameId, playerId, offset, limit);
+            return ResponseEntity.ok(sample);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
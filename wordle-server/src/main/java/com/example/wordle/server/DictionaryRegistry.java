@@ -0,0 +1,220 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.server.dto.DictionaryInfo;
+
+/**
+ * the dictionary version new games are created on. a reload reads the word
+ * file and builds the next version (indexes, feedback table, solver) on a
+ * background thread, then publishes it with a single reference swap: games
+ * created afterwards use it, games already running keep theirs. retired
+ * versions are dropped once no live game uses them
+ */
+public class DictionaryRegistry implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(DictionaryRegistry.class);
+
+    /**
+     * reads the word list again, e.g. after the file was replaced
+     */
+    @FunctionalInterface
+    public interface Source {
+        Dictionary read() throws IOException;
+    }
+
+    /**
+     * builds everything games and hints need on a dictionary
+     */
+    @FunctionalInterface
+    public interface Builder {
+        DictionaryVersion build(int number, Dictionary dictionary) throws IOException;
+    }
+
+    private final AtomicReference<DictionaryVersion> current;
+    // current first, then retired versions some game still uses
+    private final List<DictionaryVersion> versions = new CopyOnWriteArrayList<>();
+    private final Source source;
+    private final Builder builder;
+    private final ExecutorService reloader;
+    // guarded by this
+    private CompletableFuture<DictionaryVersion> pending;
+
+    /**
+     * a registry that cannot be reloaded
+     */
+    public DictionaryRegistry(DictionaryVersion initial) {
+        this(initial, null, null);
+    }
+
+    /**
+     * @param initial version to start with
+     * @param source  where reloads read the word list from
+     * @param builder builds a version for a reloaded word list
+     */
+    public DictionaryRegistry(DictionaryVersion initial, Source source, Builder builder) {
+        this.current = new AtomicReference<>(initial);
+        this.versions.add(initial);
+        this.source = source;
+        this.builder = builder;
+        this.reloader = source == null ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "dictionary-reload");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return the version new games are created on
+     */
+    public DictionaryVersion current() {
+        return current.get();
+    }
+
+    /**
+     * the current version with a reference taken for a new game; the game
+     * gives it back through {@link DictionaryVersion#release()} when evicted
+     */
+    DictionaryVersion acquire() {
+        while (true) {
+            DictionaryVersion version = current();
+            // fails if a reload retired it since the read; if one swapped it
+            // out but has not retired it yet, give the reference back too, so
+            // no game starts on an old word list once a new one is published
+            if (version.retain()) {
+                if (current() == version) {
+                    return version;
+                }
+                version.release();
+            }
+        }
+    }
+
+    /**
+     * read the word list again and publish it, off the caller's thread.
+     * concurrent calls share one reload; if the words did not change the
+     * current version is kept
+     *
+     * @return completes with the current version after the reload, or
+     *         exceptionally if the word list cannot be read or built
+     */
+    public CompletableFuture<DictionaryInfo> reload() {
+        return start().thenApply(v -> info(v, v == current.get()));
+    }
+
+    private synchronized CompletableFuture<DictionaryVersion> start() {
+        if (source == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("dictionary reload is not configured"));
+        }
+        CompletableFuture<DictionaryVersion> reload = pending;
+        if (reload == null) {
+            CompletableFuture<DictionaryVersion> started = new CompletableFuture<>();
+            pending = started;
+            reloader.execute(() -> run(started));
+            reload = started;
+        }
+        return reload;
+    }
+
+    /**
+     * clears pending before completing, so a caller that sees the result can
+     * start the next reload straight away
+     */
+    private void run(CompletableFuture<DictionaryVersion> reload) {
+        DictionaryVersion version;
+        try {
+            version = load();
+        } catch (RuntimeException | Error e) {
+            done(reload);
+            reload.completeExceptionally(e);
+            return;
+        }
+        done(reload);
+        reload.complete(version);
+    }
+
+    private synchronized void done(CompletableFuture<DictionaryVersion> reload) {
+        if (pending == reload) {
+            pending = null;
+        }
+    }
+
+    private DictionaryVersion load() {
+        try {
+            long start = System.nanoTime();
+            Dictionary dictionary = source.read();
+            DictionaryVersion old = current.get();
+            if (dictionary.getFingerprint() == old.getDictionary().getFingerprint()) {
+                log.info("Word list {} unchanged, keeping dictionary version {}", dictionary.getName(), old.getNumber());
+                return old;
+            }
+            DictionaryVersion next = builder.build(old.getNumber() + 1, dictionary);
+            versions.add(0, next);
+            current.set(next);
+            log.info("Dictionary version {} published: words={} millis={}, version {} retired with {} live games",
+                next.getNumber(), dictionary.size(), (System.nanoTime() - start) / 1_000_000,
+                old.getNumber(), old.getGames());
+            old.retire(() -> reclaimed(old));
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * the last game on a retired version is gone: forget it, and its cached
+     * openings unless a live version has the same words
+     */
+    private void reclaimed(DictionaryVersion version) {
+        versions.remove(version);
+        long fingerprint = version.getDictionary().getFingerprint();
+        if (versions.stream().noneMatch(v -> v.getDictionary().getFingerprint() == fingerprint)) {
+            Solver.forgetOpenings(fingerprint);
+        }
+        log.info("Dictionary version {} reclaimed", version.getNumber());
+    }
+
+    /**
+     * @return the current version and every retired one still in use
+     */
+    public List<DictionaryInfo> getVersions() {
+        DictionaryVersion now = current.get();
+        List<DictionaryInfo> result = new ArrayList<>();
+        for (DictionaryVersion v : versions) {
+            result.add(info(v, v == now));
+        }
+        return result;
+    }
+
+    private static DictionaryInfo info(DictionaryVersion v, boolean current) {
+        Dictionary dictionary = v.getDictionary();
+        return new DictionaryInfo(
+            v.getNumber(),
+            dictionary.getName(),
+            dictionary.size(),
+            Long.toHexString(dictionary.getFingerprint()),
+            v.getLoadedAt(),
+            v.getGames(),
+            current
+        );
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+}
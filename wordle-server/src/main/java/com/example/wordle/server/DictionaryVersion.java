@@ -0,0 +1,108 @@
+package com.example.wordle.server;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+
+/**
+ * one loaded word list with the game prototype and solver built on it.
+ * a game keeps the version it was created with until it is evicted, so a
+ * reload never changes the words of a game in progress; each live game
+ * holds a reference, and a retired version is reclaimed once the last
+ * game on it is gone
+ */
+public final class DictionaryVersion {
+    private static final int RECLAIMED = -1;
+
+    private final int number;
+    private final WordleGame prototype;
+    private final Solver solver;
+    private final Instant loadedAt = Instant.now();
+    // live games on this version, RECLAIMED once retired and unused
+    private final AtomicInteger games = new AtomicInteger();
+    private volatile Runnable onReclaim;
+
+    /**
+     * @param number    increases with every reload, starting at 1
+     * @param prototype game prototype (normal or cheating) for new games
+     * @param solver    hint engine on the prototype's dictionary
+     */
+    public DictionaryVersion(int number, WordleGame prototype, Solver solver) {
+        if (solver.getDictionary() != prototype.getDictionary()) {
+            throw new IllegalArgumentException("solver and prototype must share the dictionary");
+        }
+        this.number = number;
+        this.prototype = prototype;
+        this.solver = solver;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public Dictionary getDictionary() {
+        return prototype.getDictionary();
+    }
+
+    public WordleGame getPrototype() {
+        return prototype;
+    }
+
+    public Solver getSolver() {
+        return solver;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return live games on this version
+     */
+    public int getGames() {
+        return Math.max(0, games.get());
+    }
+
+    /**
+     * take a reference for a new game
+     *
+     * @return false if the version was already reclaimed
+     */
+    boolean retain() {
+        int n;
+        do {
+            n = games.get();
+            if (n == RECLAIMED) {
+                return false;
+            }
+        } while (!games.compareAndSet(n, n + 1));
+        return true;
+    }
+
+    /**
+     * drop the reference of an evicted game
+     */
+    void release() {
+        if (games.decrementAndGet() == 0 && onReclaim != null) {
+            reclaim();
+        }
+    }
+
+    /**
+     * stop handing this version to new games; the action runs once the
+     * last game on it is released, right away if there is none
+     */
+    void retire(Runnable action) {
+        onReclaim = action;
+        reclaim();
+    }
+
+    private void reclaim() {
+        if (games.compareAndSet(0, RECLAIMED)) {
+            onReclaim.run();
+        }
+    }
+}
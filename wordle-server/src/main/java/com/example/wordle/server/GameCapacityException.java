@@ -0,0 +1,12 @@
+package com.example.wordle.server;
+
+/**
+ * thrown when the server already holds as many games or players as it
+ * is configured for; clients should retry later
+ */
+public class GameCapacityException extends RuntimeException {
+
+    public GameCapacityException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,18 @@
 package com.example.wordle.server;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.wordle.server.dto.BatchGuess;
+import com.example.wordle.server.dto.BatchGuessResult;
 import com.example.wordle.server.dto.GameState;
 import com.example.wordle.server.dto.GuessResponse;
 
@@ -17,17 +21,19 @@ import com.example.wordle.server.dto.GuessResponse;
 public class GameController {
 
     private final GameService svc;
+    private final ProgressStreams progressStreams;
 
     @Autowired
-    public GameController(GameService svc) {
+    public GameController(GameService svc, ProgressStreams progressStreams) {
         this.svc = svc;
+        this.progressStreams = progressStreams;
     }
 
     /**
      * create a new game, returns gameId
      */
     @PostMapping
-    public Map<String, UUID> newGame() throws IOException {
+    public Map<String, UUID> newGame() {
         UUID id = svc.createGame();
         return Map.of("gameId", id);
     }
@@ -36,7 +42,7 @@ public class GameController {
      * player joins an existing game, returns playerId
      */
     @PostMapping("/{gameId}/join")
-    public Map<String, UUID> joinGame(@PathVariable UUID gameId) throws IOException {
+    public Map<String, UUID> joinGame(@PathVariable UUID gameId) {
         UUID playerId = svc.joinGame(gameId);
         return Map.of("playerId", playerId);
     }
@@ -58,6 +64,37 @@ public class GameController {
         }
     }
 
+    /**
+     * submit many guesses of any games and players in one request; each
+     * item gets its own status, in the order of the request
+     */
+    @PostMapping("/guesses")
+    public ResponseEntity<?> guesses(@RequestBody List<BatchGuess> batch) {
+        try {
+            List<BatchGuessResult> results = svc.submitGuesses(batch);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * suggest next guesses for a player, best first
+     */
+    @GetMapping("/{gameId}/hint")
+    public ResponseEntity<?> hint(
+        @PathVariable UUID gameId,
+        @RequestHeader("X-Player-Id") UUID playerId,
+        @RequestParam(defaultValue = "entropy") String strategy,
+        @RequestParam(defaultValue = "5") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(svc.getHint(gameId, playerId, strategy, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     /**
      * get overall progress for all players
      */
@@ -66,6 +103,19 @@ public class GameController {
         return svc.getProgress(gameId);
     }
 
+    /**
+     * stream every player's progress as server-sent events: the current
+     * state of each player, then one event per join and guess
+     */
+    @GetMapping("/{gameId}/events")
+    public SseEmitter events(@PathVariable UUID gameId) {
+        try {
+            return progressStreams.open(gameId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * legacy single-player state endpoint
      */
@@ -73,4 +123,20 @@ public class GameController {
     public GameState state(@PathVariable UUID gameId) {
         return svc.getState(gameId);
     }
+
+    /**
+     * the player's game is already over: 409, as for a batch item
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> gameOver(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+    }
+
+    /**
+     * game or player cap reached: 503 so clients back off and retry
+     */
+    @ExceptionHandler(GameCapacityException.class)
+    public ResponseEntity<Map<String, String>> capacity(GameCapacityException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.wordle.server;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.wordle.PartitionListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * meters for the game hot paths. every meter is registered once up front,
+ * so recording is a few atomic adds with no tag lookup or allocation;
+ * timers and summaries publish percentile histograms for prometheus
+ */
+public class GameMetrics implements PartitionListener {
+
+    // every five-letter word, the most any dictionary version can hold
+    private static final double MAX_CANDIDATES = Math.pow(26, 5);
+
+    private final Timer create;
+    private final Timer join;
+    private final Timer guess;
+    private final Counter invalidGuesses;
+    private final Counter gameOverGuesses;
+    private final Timer partition;
+    private final DistributionSummary candidates;
+    private final DistributionSummary buckets;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.create = timer(registry, "wordle.game.create", "create a game");
+        this.join = timer(registry, "wordle.game.join", "join a game");
+        this.guess = timer(registry, "wordle.guess", "accepted guess, including journaling and progress events");
+        this.invalidGuesses = Counter.builder("wordle.guess.rejected")
+            .description("guesses rejected before they were played")
+            .tag("reason", "invalid")
+            .register(registry);
+        this.gameOverGuesses = Counter.builder("wordle.guess.rejected")
+            .description("guesses rejected before they were played")
+            .tag("reason", "game_over")
+            .register(registry);
+        this.partition = timer(registry, "wordle.cheat.partition", "cheating host counting and narrowing candidates");
+        this.candidates = DistributionSummary.builder("wordle.cheat.candidates")
+            .description("candidate words before a cheating host's partition")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(MAX_CANDIDATES)
+            .register(registry);
+        this.buckets = DistributionSummary.builder("wordle.cheat.buckets")
+            .description("distinct feedback patterns in a cheating host's partition")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(243.0)
+            .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public void created(long nanos) {
+        create.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void joined(long nanos) {
+        join.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void guessed(long nanos) {
+        guess.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void invalidGuess() {
+        invalidGuesses.increment();
+    }
+
+    public void gameOverGuess() {
+        gameOverGuesses.increment();
+    }
+
+    @Override
+    public void partitioned(int candidates, int buckets, int kept, long nanos) {
+        partition.record(nanos, TimeUnit.NANOSECONDS);
+        this.candidates.record(candidates);
+        this.buckets.record(buckets);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.wordle.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.example.wordle.WordleGame;
+
+/**
+ * one game: its host game instance and the players who joined it, all on
+ * the dictionary version the game was created with
+ */
+public class GameRoom {
+    private final UUID gameId;
+    private final WordleGame game;
+    private final DictionaryVersion version;
+    // constant-time lookup by player id, safe for concurrent joins
+    private final Map<UUID, PlayerSession> players = new ConcurrentHashMap<>();
+    // join order; iteration always sees a stable snapshot
+    private final List<PlayerSession> roster = new CopyOnWriteArrayList<>();
+    private final ProgressBroadcaster progress = new ProgressBroadcaster();
+    // System.nanoTime() of the last request touching this game
+    private volatile long lastAccess;
+
+    /**
+     * @param version dictionary version of the game; the room holds a
+     *                reference on it until the store evicts the room
+     */
+    public GameRoom(UUID gameId, WordleGame game, DictionaryVersion version) {
+        this.gameId = gameId;
+        this.game = game;
+        this.version = version;
+        this.lastAccess = System.nanoTime();
+    }
+
+    /**
+     * record activity on this game, postponing its expiry
+     */
+    public void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    /**
+     * @return nanoseconds since the last request touching this game
+     */
+    public long idleNanos(long now) {
+        return now - lastAccess;
+    }
+
+    /**
+     * @return true once at least one player joined and every player's game is over
+     */
+    public boolean isFinished() {
+        if (roster.isEmpty()) {
+            return false;
+        }
+        for (PlayerSession ps : roster) {
+            if (!ps.getGameInstance().isOver()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * add a player to this game
+     */
+    public void join(PlayerSession ps) {
+        players.put(ps.getPlayerId(), ps);
+        roster.add(ps);
+    }
+
+    /**
+     * @return the player's session, or null if the player has not joined
+     */
+    public PlayerSession getPlayer(UUID playerId) {
+        return players.get(playerId);
+    }
+
+    /**
+     * @return all players in join order, as a snapshot
+     */
+    public List<PlayerSession> getPlayers() {
+        return Collections.unmodifiableList(roster);
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public WordleGame getGame() {
+        return game;
+    }
+
+    /**
+     * @return dictionary version players joining this game get, and hints use
+     */
+    public DictionaryVersion getVersion() {
+        return version;
+    }
+
+    /**
+     * @return subscribers to this game's player progress
+     */
+    public ProgressBroadcaster getProgress() {
+        return progress;
+    }
+}
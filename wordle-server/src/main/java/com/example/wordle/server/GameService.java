@@ -1,64 +1,106 @@
 package com.example.wordle.server;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Solver;
 import com.example.wordle.WordleGame;
+import com.example.wordle.server.dto.BatchGuess;
+import com.example.wordle.server.dto.BatchGuessResult;
+import com.example.wordle.server.dto.CandidateSample;
 import com.example.wordle.server.dto.GameState;
 import com.example.wordle.server.dto.GuessResponse;
+import com.example.wordle.server.dto.HintResponse;
+import com.example.wordle.server.dto.ProgressEvent;
 
 @Service
 public class GameService {
 
-    private final WordleGame prototype;
-    private final String wordFile;
-    private final Map<UUID, WordleGame> games = new ConcurrentHashMap<>();
-    private final Map<UUID, List<PlayerSession>> sessions = new ConcurrentHashMap<>();
+    /**
+     * remaining-word diagnostics, off unless this logger is set to DEBUG
+     */
+    private static final Logger CANDIDATES = LoggerFactory.getLogger("com.example.wordle.server.candidates");
+    private static final int LOG_SAMPLE = 10;
+    private static final int MAX_SAMPLE = 1000;
+    private static final int MAX_BATCH = 1000;
+
+    private final DictionaryRegistry dictionaries;
+    private final SessionStore games;
+    private final GameMetrics metrics;
+    private final String mode;
+
+    /**
+     * @param dictionaries game prototype (normal or cheating) and solver of
+     *                     the current word list; a game keeps the version
+     *                     it was created with
+     * @param games        live games, evicted when idle or finished
+     * @param metrics      latency and rejection meters
+     */
+    public GameService(DictionaryRegistry dictionaries, SessionStore games, GameMetrics metrics) {
+        this.dictionaries = dictionaries;
+        this.games = games;
+        this.metrics = metrics;
+        // reloads change the words, never the kind of game
+        this.mode = dictionaries.current().getPrototype() instanceof CheatingWordleGame ? "cheat" : "normal";
+    }
 
     /**
-     * @param prototype the game prototype (normal or cheating)
-     * @param wordFile the word list resource name on classpath
+     * @return whether creating, joining and guessing never wait: a normal
+     *         guess is a CAS on the game's state after scoring one word, and
+     *         the store does not block. A cheating guess partitions the
+     *         candidates, on the fork/join pool for large sets
      */
-    public GameService(
-        WordleGame prototype,
-        @Value("${wordle.wordFile}") String wordFile
-    ) {
-        this.prototype = prototype;
-        this.wordFile = wordFile;
+    public boolean isNonBlocking() {
+        return "normal".equals(mode) && !games.mayBlock();
     }
 
     /**
-     * create a new game and return its id
+     * create a new game on the current word list and return its id
      */
-    public UUID createGame() throws IOException {
-        WordleGame game = duplicate(prototype);
+    public UUID createGame() {
+        long start = System.nanoTime();
+        DictionaryVersion version = dictionaries.acquire();
+        WordleGame game = version.getPrototype().newGame();
         UUID gameId = UUID.randomUUID();
-        games.put(gameId, game);
-        System.out.println("List of words remaining: " + game.getWordList());
+        // flight recorder events of the game name it like GuessRequestEvent does
+        game.setLabel(gameId.toString());
+        try {
+            games.add(new GameRoom(gameId, game, version));
+        } catch (RuntimeException e) {
+            version.release();
+            throw e;
+        }
+        logCandidates("create", gameId, null, game);
+        metrics.created(System.nanoTime() - start);
         return gameId;
     }
 
     /**
      * player joins an existing game, returns playerId
      */
-    public UUID joinGame(UUID gameId) throws IOException {
-        WordleGame game = games.get(gameId);
-        if (game == null) {
+    public UUID joinGame(UUID gameId) {
+        long start = System.nanoTime();
+        GameRoom room = games.get(gameId);
+        if (room == null) {
             throw new IllegalArgumentException("game not found");
         }
-        System.out.println("List of words remaining: " + game.getWordList());
         UUID playerId = UUID.randomUUID();
-        PlayerSession ps = new PlayerSession(playerId, prototype, wordFile);
-        sessions.computeIfAbsent(gameId, k -> new ArrayList<>()).add(ps);
+        PlayerSession ps = new PlayerSession(playerId, room.getVersion().getPrototype());
+        ps.getGameInstance().setLabel(gameId.toString());
+        games.join(room, ps);
+        logCandidates("join", gameId, playerId, ps.getGameInstance());
+        room.getProgress().publish(progressEvent("join", ps, ps.getGameInstance().getState()));
+        metrics.joined(System.nanoTime() - start);
         return playerId;
     }
 
@@ -66,79 +108,256 @@ public class GameService {
      * submit a guess on behalf of a specific player
      */
     public GuessResponse submitGuess(UUID gameId, UUID playerId, String guess) {
-        List<PlayerSession> list = sessions.get(gameId);
-        if (list == null) {
-            throw new IllegalArgumentException("game not joined");
+        GameRoom room = joinedRoom(gameId);
+        return play(room, findPlayer(room, playerId), guess);
+    }
+
+    /**
+     * submit many guesses in one call, e.g. from bots. Guesses are grouped
+     * by game so each game is looked up once; results come back in the
+     * order of the guesses, and one failing guess does not affect the others.
+     * Guesses by the same player are played in their order in the batch.
+     */
+    public List<BatchGuessResult> submitGuesses(List<BatchGuess> batch) {
+        if (batch.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("at most " + MAX_BATCH + " guesses per batch");
+        }
+        Map<UUID, List<Integer>> byGame = new LinkedHashMap<>();
+        BatchGuessResult[] results = new BatchGuessResult[batch.size()];
+        for (int i = 0; i < results.length; i++) {
+            BatchGuess item = batch.get(i);
+            if (item == null || item.gameId() == null || item.playerId() == null) {
+                results[i] = new BatchGuessResult(400, null, "gameId and playerId are required");
+            } else {
+                byGame.computeIfAbsent(item.gameId(), id -> new ArrayList<>()).add(i);
+            }
         }
-        PlayerSession ps = list.stream()
-            .filter(s -> s.getPlayerId().equals(playerId))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("player not joined"));
+        for (Map.Entry<UUID, List<Integer>> entry : byGame.entrySet()) {
+            GameRoom room = games.get(entry.getKey());
+            for (int i : entry.getValue()) {
+                results[i] = room == null
+                    ? new BatchGuessResult(400, null, "game not joined")
+                    : tryPlay(room, batch.get(i));
+            }
+        }
+        return Arrays.asList(results);
+    }
 
+    private BatchGuessResult tryPlay(GameRoom room, BatchGuess item) {
+        try {
+            return new BatchGuessResult(200, play(room, findPlayer(room, item.playerId()), item.guess()), null);
+        } catch (IllegalArgumentException e) {
+            return new BatchGuessResult(400, null, e.getMessage());
+        } catch (IllegalStateException e) {
+            return new BatchGuessResult(409, null, e.getMessage());
+        }
+    }
+
+    private GuessResponse play(GameRoom room, PlayerSession ps, String guess) {
+        long start = System.nanoTime();
+        GuessRequestEvent event = new GuessRequestEvent();
+        event.begin();
         WordleGame game = ps.getGameInstance();
-        boolean won = game.guess(guess);
-        System.out.println("List of words remaining: " + game.getWordList());
+        // the returned state is this guess's own result, even if the same
+        // player's other requests are guessing concurrently
+        WordleGame.State state;
+        try {
+            state = game.play(guess);
+        } catch (IllegalArgumentException e) {
+            metrics.invalidGuess();
+            commit(event, room, ps, guess, "invalid", game.getTurnsUsed());
+            throw e;
+        } catch (IllegalStateException e) {
+            metrics.gameOverGuess();
+            commit(event, room, ps, guess, "game_over", game.getTurnsUsed());
+            throw e;
+        }
+        games.guessed(room, ps, guess, state);
+        room.getProgress().publish(progressEvent("guess", ps, state));
+        logCandidates("guess", room.getGameId(), ps.getPlayerId(), game);
+        metrics.guessed(System.nanoTime() - start);
+        commit(event, room, ps, guess, "played", state.getTurnsUsed());
         // return marks/result for this player
         return new GuessResponse(
-            game.getLastMarks(),
-            won,
-            game.isOver(),
-            game.getTurnsUsed(),
+            state.getLastMarks(),
+            state.hasWon(),
+            state.isOver(),
+            state.getTurnsUsed(),
             game.getMaxTurns(),
-            game.isOver() ? game.getAnswer() : null
+            state.isOver() ? state.getAnswer() : null
         );
     }
 
+    /**
+     * fill in and commit a guess event, if a recording wants it
+     */
+    private void commit(GuessRequestEvent event, GameRoom room, PlayerSession ps, String guess,
+                        String outcome, int turn) {
+        if (event.shouldCommit()) {
+            event.gameId = room.getGameId().toString();
+            event.playerId = ps.getPlayerId().toString();
+            event.mode = mode;
+            event.guess = guess;
+            event.outcome = outcome;
+            event.turn = turn;
+            event.commit();
+        }
+    }
+
     /**
      * get progress of all players in this game
      */
     public List<GameState> getProgress(UUID gameId) {
-        List<PlayerSession> list = sessions.get(gameId);
-        if (list == null) {
+        GameRoom room = games.get(gameId);
+        if (room == null) {
             throw new IllegalArgumentException("game not joined");
         }
         List<GameState> result = new ArrayList<>();
-        for (PlayerSession ps : list) {
+        for (PlayerSession ps : room.getPlayers()) {
             WordleGame g = ps.getGameInstance();
+            WordleGame.State st = g.getState();
             result.add(new GameState(
                 ps.getPlayerId(),
-                g.getTurnsUsed(),
+                st.getTurnsUsed(),
                 g.getMaxTurns(),
-                g.hasWon(),
-                g.isOver(),
-                g.isOver() ? g.getAnswer() : null
+                st.hasWon(),
+                st.isOver(),
+                st.isOver() ? st.getAnswer() : null
             ));
         }
         return result;
     }
 
+    /**
+     * push every player's progress in this game to the listener, first the
+     * current state of each player, then an event per join and guess
+     *
+     * @return action that unsubscribes the listener
+     */
+    public Runnable subscribeProgress(UUID gameId, ProgressBroadcaster.Listener listener) {
+        GameRoom room = games.get(gameId);
+        if (room == null) {
+            throw new IllegalArgumentException("game not found");
+        }
+        // subscribe first so nothing is missed; a change racing with the
+        // snapshot may arrive twice, which turnsUsed makes harmless
+        Runnable unsubscribe = room.getProgress().subscribe(listener);
+        for (PlayerSession ps : room.getPlayers()) {
+            listener.onEvent(progressEvent("progress", ps, ps.getGameInstance().getState()));
+        }
+        return unsubscribe;
+    }
+
+    /**
+     * suggest next guesses for a player from the feedback they have seen
+     *
+     * @param strategy "entropy" or "minimax"
+     */
+    public HintResponse getHint(UUID gameId, UUID playerId, String strategy, int limit) {
+        Solver.Strategy s;
+        try {
+            s = Solver.Strategy.valueOf(strategy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown strategy " + strategy);
+        }
+        GameRoom room = joinedRoom(gameId);
+        WordleGame game = findPlayer(room, playerId).getGameInstance();
+        if (game.isOver()) {
+            throw new IllegalStateException("game over");
+        }
+        Solver.Hint hint = room.getVersion().getSolver().hint(game, s, limit);
+        return new HintResponse(s, hint.remaining(), hint.suggestions());
+    }
+
     /**
      * get single-player game state (legacy support)
      */
     public GameState getState(UUID gameId) {
-        WordleGame game = games.get(gameId);
-        if (game == null) {
+        GameRoom room = games.get(gameId);
+        if (room == null) {
             throw new IllegalArgumentException("game not found");
         }
-        String answer = game.isOver() ? game.getAnswer() : null;
+        WordleGame game = room.getGame();
+        WordleGame.State st = game.getState();
+        String answer = st.isOver() ? st.getAnswer() : null;
         return new GameState(
             gameId,
-            game.getTurnsUsed(),
+            st.getTurnsUsed(),
             game.getMaxTurns(),
-            game.hasWon(),
-            game.isOver(),
+            st.hasWon(),
+            st.isOver(),
             answer
         );
     }
 
     /**
-     * duplicate prototype into a fresh game instance
+     * remaining candidates of the game, or of one player's game when
+     * playerId is given, with a page of at most MAX_SAMPLE words
+     */
+    public CandidateSample getCandidates(UUID gameId, UUID playerId, int offset, int limit) {
+        WordleGame game;
+        if (playerId == null) {
+            GameRoom room = games.get(gameId);
+            if (room == null) {
+                throw new IllegalArgumentException("game not found");
+            }
+            game = room.getGame();
+        } else {
+            game = findPlayer(gameId, playerId).getGameInstance();
+        }
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        List<String> words = game.getWordList();
+        int size = words.size();
+        int from = Math.min(offset, size);
+        int to = Math.min(size, from + Math.min(limit, MAX_SAMPLE));
+        return new CandidateSample(size, from, new ArrayList<>(words.subList(from, to)));
+    }
+
+    private static ProgressEvent progressEvent(String type, PlayerSession ps, WordleGame.State st) {
+        return new ProgressEvent(
+            type,
+            ps.getPlayerId(),
+            st.getTurnsUsed(),
+            ps.getGameInstance().getMaxTurns(),
+            st.hasWon(),
+            st.isOver(),
+            st.isOver() ? st.getAnswer() : null
+        );
+    }
+
+    private PlayerSession findPlayer(UUID gameId, UUID playerId) {
+        return findPlayer(joinedRoom(gameId), playerId);
+    }
+
+    private GameRoom joinedRoom(UUID gameId) {
+        GameRoom room = games.get(gameId);
+        if (room == null) {
+            throw new IllegalArgumentException("game not joined");
+        }
+        return room;
+    }
+
+    private PlayerSession findPlayer(GameRoom room, UUID playerId) {
+        PlayerSession ps = room.getPlayer(playerId);
+        if (ps == null) {
+            throw new IllegalArgumentException("player not joined");
+        }
+        return ps;
+    }
+
+    /**
+     * log the remaining-word count and a short sample; nothing is
+     * computed unless the candidates logger is at DEBUG
      */
-    private WordleGame duplicate(WordleGame src) throws IOException {
-        Objects.requireNonNull(src, "src must not be null");
-        if (src instanceof CheatingWordleGame) {
-            return new CheatingWordleGame(src.getMaxTurns(), wordFile);
+    private void logCandidates(String event, UUID gameId, UUID playerId, WordleGame game) {
+        if (!CANDIDATES.isDebugEnabled()) {
+            return;
         }
-        return new WordleGame(src.getMaxTurns(), wordFile);
+        List<String> words = game.getWordList();
+        int size = words.size();
+        CANDIDATES.debug("event={} game={} player={} remaining={} sample={}",
+            event, gameId, playerId, size, words.subList(0, Math.min(LOG_SAMPLE, size)));
     }
 }
@@ -0,0 +1,44 @@
+package com.example.wordle.server;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * flight recorder event for one guess handled by GameService, including
+ * journaling and progress events. the core Guess and CheatPartition events
+ * of the same guess are nested in it on the same thread. disabled unless a
+ * recording enables it, e.g. with wordle.jfc
+ */
+@Name("com.example.wordle.server.GuessRequest")
+@Label("Guess Request")
+@Category({"Wordle", "Server"})
+@Description("A guess submitted to a game, from player lookup to response")
+@Enabled(false)
+@StackTrace(false)
+final class GuessRequestEvent extends Event {
+
+    @Label("Game Id")
+    String gameId;
+
+    @Label("Player Id")
+    String playerId;
+
+    @Label("Mode")
+    @Description("normal or cheat")
+    String mode;
+
+    @Label("Guess")
+    String guess;
+
+    @Label("Outcome")
+    @Description("played, invalid or game_over")
+    String outcome;
+
+    @Label("Turn")
+    int turn;
+}
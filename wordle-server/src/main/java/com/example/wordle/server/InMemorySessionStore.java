@@ -0,0 +1,157 @@
+package com.example.wordle.server;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.dto.SessionStats;
+
+/**
+ * all live games in memory, bounded in time and size: games idle for longer
+ * than idleTtl, or finished and untouched for finishedGrace, are dropped by a
+ * periodic sweep, and creating or joining beyond the caps is refused
+ */
+public class InMemorySessionStore implements SessionStore {
+    private static final Logger log = LoggerFactory.getLogger(InMemorySessionStore.class);
+
+    private final Map<UUID, GameRoom> rooms = new ConcurrentHashMap<>();
+    private final long idleTtlNanos;
+    private final long finishedGraceNanos;
+    private final int maxGames;
+    private final int maxPlayers;
+
+    // reserved before a game/player is added, so the caps hold under concurrency
+    private final AtomicInteger liveGames = new AtomicInteger();
+    private final AtomicInteger livePlayers = new AtomicInteger();
+    private final AtomicLong evictedIdle = new AtomicLong();
+    private final AtomicLong evictedFinished = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public InMemorySessionStore(Duration idleTtl, Duration finishedGrace, int maxGames, int maxPlayers) {
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.finishedGraceNanos = finishedGrace.toNanos();
+        this.maxGames = maxGames;
+        this.maxPlayers = maxPlayers;
+    }
+
+    @Override
+    public void add(GameRoom room) {
+        reserve(liveGames, maxGames, "too many games, try again later");
+        rooms.put(room.getGameId(), room);
+    }
+
+    @Override
+    public void join(GameRoom room, PlayerSession ps) {
+        // the sweep removes rooms under the same lock, so a player is never
+        // counted on, or attached to, a room that is no longer stored
+        synchronized (room) {
+            if (rooms.get(room.getGameId()) != room) {
+                throw new IllegalArgumentException("game not found");
+            }
+            reserve(livePlayers, maxPlayers, "too many players, try again later");
+            room.join(ps);
+            room.touch();
+        }
+    }
+
+    @Override
+    public void guessed(GameRoom room, PlayerSession ps, String guess, WordleGame.State state) {
+        // nothing to record, the game itself holds the state
+    }
+
+    @Override
+    public GameRoom get(UUID gameId) {
+        GameRoom room = rooms.get(gameId);
+        if (room != null) {
+            room.touch();
+        }
+        return room;
+    }
+
+    /**
+     * drop idle and finished games; runs every wordle.session.sweepMillis
+     */
+    @Override
+    @Scheduled(
+        fixedDelayString = "${wordle.session.sweepMillis:30000}",
+        initialDelayString = "${wordle.session.sweepMillis:30000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int idle = 0;
+        int finished = 0;
+        for (GameRoom room : rooms.values()) {
+            long idleNanos = room.idleNanos(now);
+            boolean expired = idleNanos > idleTtlNanos;
+            boolean done = !expired && idleNanos > finishedGraceNanos && room.isFinished();
+            if (!expired && !done) {
+                continue;
+            }
+            synchronized (room) {
+                if (!rooms.remove(room.getGameId(), room)) {
+                    continue;
+                }
+                livePlayers.addAndGet(-room.getPlayers().size());
+            }
+            liveGames.decrementAndGet();
+            room.getProgress().close();
+            room.getVersion().release();
+            evicted(room);
+            if (expired) {
+                idle++;
+            } else {
+                finished++;
+            }
+        }
+        evictedIdle.addAndGet(idle);
+        evictedFinished.addAndGet(finished);
+        if (idle + finished > 0) {
+            log.info("evicted {} idle and {} finished games, {} live", idle, finished, liveGames.get());
+        }
+    }
+
+    /**
+     * called once for every game the sweep drops
+     */
+    protected void evicted(GameRoom room) {
+    }
+
+    /**
+     * @return all live games, for subclasses that persist them
+     */
+    protected Iterable<GameRoom> rooms() {
+        return rooms.values();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public SessionStats getStats() {
+        return new SessionStats(
+            liveGames.get(),
+            livePlayers.get(),
+            maxGames,
+            maxPlayers,
+            evictedIdle.get(),
+            evictedFinished.get(),
+            rejected.get()
+        );
+    }
+
+    private void reserve(AtomicInteger live, int max, String message) {
+        if (live.incrementAndGet() > max) {
+            live.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new GameCapacityException(message);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.WordleGame;
+
+/**
+ * in-memory store that also appends every create/join/guess/evict to a
+ * memory-mapped journal, so games survive a restart.
+ * <p>
+ * Records are fixed 40-byte entries written behind by one background
+ * thread in batches; request threads only enqueue. On startup the journal
+ * is replayed (guesses are re-played through the game, so cheating games
+ * end up in the same state) and rewritten without the evicted games.
+ * <p>
+ * File layout: a 24-byte header (magic "WJNL", version, dictionary
+ * fingerprint at startup, maxTurns, kind) followed by records:
+ * <pre>
+ *   0  type     byte   1 create, 2 join, 3 guess, 4 evict; 0 ends the journal
+ *   1  reserved byte
+ *   2  turn     short  turns used after a guess
+ *   4  word     int    answer id on create/join (-1 if not fixed), guess id on guess
+ *   8  game     2 longs
+ *  24  player   2 longs; on create the fingerprint of the game's dictionary
+ *               and a zero long, zero on evict
+ * </pre>
+ * Word ids refer to the dictionary of the game's create record, so games
+ * created before and after a dictionary reload can share the journal; on
+ * restart only games on the configured word list are restored. A journal
+ * written for another version, maxTurns or mode is ignored.
+ */
+public class JournalSessionStore extends InMemorySessionStore {
+    private static final Logger log = LoggerFactory.getLogger(JournalSessionStore.class);
+
+    private static final int MAGIC = 0x574A4E4C; // "WJNL"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 40;
+    private static final long CHUNK_BYTES = 64L << 20;
+    private static final int IO_RECORDS = 4096;
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int BATCH = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final byte CREATE = 1;
+    private static final byte JOIN = 2;
+    private static final byte GUESS = 3;
+    private static final byte EVICT = 4;
+
+    /**
+     * @param fingerprint dictionary of a created game, 0 otherwise
+     */
+    private record Entry(byte type, UUID gameId, UUID playerId, long fingerprint, int word, int turn) {}
+
+    private static final Entry STOP = new Entry((byte) 0, null, null, 0, 0, 0);
+
+    private final DictionaryVersion version;
+    private final WordleGame prototype;
+    private final Dictionary dictionary;
+    private final Path file;
+    private final boolean force;
+    private final long chunkBytes;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final FileChannel channel;
+    private final Thread writer;
+    // appends hold the read lock from the closed check to the enqueue, so
+    // close sees no append in flight and STOP is the last entry queued
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    // guarded by closing
+    private boolean closed;
+    private volatile boolean failed;
+
+    // owned by the writer thread
+    private MappedByteBuffer chunk;
+    private long chunkStart;
+    // games on another word list found by replay
+    private int otherDictionaryGames;
+
+    /**
+     * replay the journal if there is one, then start appending to it
+     *
+     * @param version dictionary version restored games are built on; games
+     *                journaled on other word lists are dropped
+     * @param file    journal file, created if missing
+     * @param force   force every batch to disk instead of leaving it to the OS
+     */
+    public JournalSessionStore(Duration idleTtl, Duration finishedGrace, int maxGames, int maxPlayers,
+                               DictionaryVersion version, Path file, boolean force) throws IOException {
+        this(idleTtl, finishedGrace, maxGames, maxPlayers, version, file, force, CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes size of each mapped region of the file, small in
+     *                   tests so appends cross into the next one
+     */
+    JournalSessionStore(Duration idleTtl, Duration finishedGrace, int maxGames, int maxPlayers,
+                        DictionaryVersion version, Path file, boolean force, long chunkBytes) throws IOException {
+        super(idleTtl, finishedGrace, maxGames, maxPlayers);
+        this.version = version;
+        this.prototype = version.getPrototype();
+        this.dictionary = version.getDictionary();
+        this.file = file;
+        this.force = force;
+        this.chunkBytes = chunkBytes;
+
+        long start = System.nanoTime();
+        long end = replay();
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunkStart = end;
+        this.chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, chunkBytes);
+        log.info("Session journal {} ready: games={} players={} millis={}", file,
+            getStats().liveGames(), getStats().livePlayers(), (System.nanoTime() - start) / 1_000_000);
+        if (otherDictionaryGames > 0) {
+            log.warn("Session journal {}: dropped {} games played on another word list", file, otherDictionaryGames);
+        }
+
+        this.writer = new Thread(this::writeLoop, "session-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void add(GameRoom room) {
+        super.add(room);
+        append(new Entry(CREATE, room.getGameId(), null, room.getVersion().getDictionary().getFingerprint(),
+            answerId(room.getGame()), 0));
+    }
+
+    @Override
+    public void join(GameRoom room, PlayerSession ps) {
+        super.join(room, ps);
+        append(new Entry(JOIN, room.getGameId(), ps.getPlayerId(), 0, answerId(ps.getGameInstance()), 0));
+    }
+
+    @Override
+    public void guessed(GameRoom room, PlayerSession ps, String guess, WordleGame.State state) {
+        append(new Entry(GUESS, room.getGameId(), ps.getPlayerId(), 0,
+            ps.getGameInstance().getDictionary().indexOf(guess), state.getTurnsUsed()));
+    }
+
+    /**
+     * appends wait while the writer is a full queue behind
+     */
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
+
+    @Override
+    protected void evicted(GameRoom room) {
+        append(new Entry(EVICT, room.getGameId(), null, 0, -1, 0));
+    }
+
+    /**
+     * stop the writer after it has written everything queued so far
+     */
+    @Override
+    public void close() {
+        closing.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        try {
+            // the writer may have died with a full queue: do not wait on it forever
+            if (!queue.offer(STOP, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Session journal {} writer did not drain its queue, closing without it", file);
+            }
+            writer.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            if (writer.isAlive()) {
+                // it may still be writing into the mapping: leave both to it
+                log.warn("Session journal {} writer did not stop, leaving the journal unflushed", file);
+                return;
+            }
+            chunk.force();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(Entry entry) {
+        closing.readLock().lock();
+        try {
+            if (closed || failed) {
+                return;
+            }
+            // blocks request threads only if the writer falls far behind
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH - 1);
+                boolean stop = false;
+                for (Entry entry : batch) {
+                    if (entry == STOP) {
+                        stop = true;
+                    } else {
+                        write(entry);
+                    }
+                }
+                if (force) {
+                    chunk.force();
+                }
+                batch.clear();
+                if (stop) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            queue.clear();
+            log.error("Session journal {} failed, games are no longer persisted", file, e);
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        if (chunk.remaining() < RECORD_BYTES) {
+            // the batch's force only reaches the mapping it ends on
+            if (force) {
+                chunk.force();
+            }
+            chunkStart += chunk.position();
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, chunkBytes);
+        }
+        int pos = chunk.position();
+        long playerHigh = entry.playerId() == null ? entry.fingerprint() : entry.playerId().getMostSignificantBits();
+        long playerLow = entry.playerId() == null ? 0 : entry.playerId().getLeastSignificantBits();
+        put(chunk, pos, entry.gameId(), playerHigh, playerLow, entry.word(), entry.turn());
+        // type last: a record cut short by a crash reads as the end of the journal
+        chunk.put(pos, entry.type());
+        chunk.position(pos + RECORD_BYTES);
+    }
+
+    private static void put(ByteBuffer buf, int pos, UUID gameId, long playerHigh, long playerLow,
+                            int word, int turn) {
+        buf.put(pos + 1, (byte) 0);
+        buf.putShort(pos + 2, (short) turn);
+        buf.putInt(pos + 4, word);
+        buf.putLong(pos + 8, gameId.getMostSignificantBits());
+        buf.putLong(pos + 16, gameId.getLeastSignificantBits());
+        buf.putLong(pos + 24, playerHigh);
+        buf.putLong(pos + 32, playerLow);
+    }
+
+    /**
+     * restore games from the journal and rewrite it with only the records
+     * of games that are still live
+     *
+     * @return end of the rewritten journal, where appending continues
+     */
+    private long replay() throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long end = HEADER_BYTES;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(IO_RECORDS * RECORD_BYTES);
+            writeHeader(buf);
+            if (Files.exists(file)) {
+                try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                    if (readHeader(in)) {
+                        Set<UUID> evicted = scanEvicted(in);
+                        end += RECORD_BYTES * (long) restore(in, out, buf, evicted);
+                    } else {
+                        log.warn("Session journal {} was written for another version or mode, starting empty", file);
+                    }
+                }
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                out.write(buf);
+            }
+            out.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return end;
+    }
+
+    private void writeHeader(ByteBuffer buf) {
+        buf.putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(dictionary.getFingerprint())
+            .putInt(prototype.getMaxTurns())
+            .putInt(kind());
+    }
+
+    /**
+     * @return true if this is a journal of this version, maxTurns and mode
+     */
+    private boolean readHeader(FileChannel in) throws IOException {
+        if (in.size() < HEADER_BYTES) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        in.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return false;
+        }
+        // the startup dictionary; each create record names its game's own
+        header.getLong();
+        return header.getInt() == prototype.getMaxTurns() && header.getInt() == kind();
+    }
+
+    private Set<UUID> scanEvicted(FileChannel in) throws IOException {
+        Set<UUID> evicted = new HashSet<>();
+        ByteBuffer buf = ByteBuffer.allocateDirect(IO_RECORDS * RECORD_BYTES);
+        long offset = HEADER_BYTES;
+        while (fill(in, buf, offset)) {
+            for (int pos = 0; pos + RECORD_BYTES <= buf.limit(); pos += RECORD_BYTES) {
+                byte type = buf.get(pos);
+                if (type == 0) {
+                    return evicted;
+                }
+                if (type == EVICT) {
+                    evicted.add(new UUID(buf.getLong(pos + 8), buf.getLong(pos + 16)));
+                }
+            }
+            offset += buf.limit();
+        }
+        return evicted;
+    }
+
+    /**
+     * apply every record of a game that was not evicted, copying the
+     * applied ones to out
+     *
+     * @return number of records copied
+     */
+    private int restore(FileChannel in, FileChannel out, ByteBuffer outBuf, Set<UUID> evicted)
+            throws IOException {
+        // guesses logged ahead of an earlier turn of the same player, by turn
+        Map<UUID, Map<Integer, Integer>> pending = new HashMap<>();
+        ByteBuffer buf = ByteBuffer.allocateDirect(IO_RECORDS * RECORD_BYTES);
+        long offset = HEADER_BYTES;
+        int copied = 0;
+        while (fill(in, buf, offset)) {
+            for (int pos = 0; pos + RECORD_BYTES <= buf.limit(); pos += RECORD_BYTES) {
+                byte type = buf.get(pos);
+                if (type == 0) {
+                    return copied;
+                }
+                UUID gameId = new UUID(buf.getLong(pos + 8), buf.getLong(pos + 16));
+                if (evicted.contains(gameId)) {
+                    continue;
+                }
+                long playerHigh = buf.getLong(pos + 24);
+                long playerLow = buf.getLong(pos + 32);
+                UUID playerId = new UUID(playerHigh, playerLow);
+                int word = buf.getInt(pos + 4);
+                int turn = buf.getShort(pos + 2) & 0xFFFF;
+                if (apply(type, gameId, playerId, word, turn, pending)) {
+                    if (outBuf.remaining() < RECORD_BYTES) {
+                        outBuf.flip();
+                        while (outBuf.hasRemaining()) {
+                            out.write(outBuf);
+                        }
+                        outBuf.clear();
+                    }
+                    int out0 = outBuf.position();
+                    put(outBuf, out0, gameId, playerHigh, playerLow, word, turn);
+                    outBuf.put(out0, type);
+                    outBuf.position(out0 + RECORD_BYTES);
+                    copied++;
+                }
+            }
+            offset += buf.limit();
+        }
+        return copied;
+    }
+
+    /**
+     * @param playerId on create, the fingerprint of the game's dictionary
+     *                 in its high bits
+     * @return false if the record no longer applies, e.g. its game is gone
+     *         or was played on another word list
+     */
+    private boolean apply(byte type, UUID gameId, UUID playerId, int word, int turn,
+                          Map<UUID, Map<Integer, Integer>> pending) {
+        try {
+            switch (type) {
+                case CREATE: {
+                    if (playerId.getMostSignificantBits() != dictionary.getFingerprint()) {
+                        otherDictionaryGames++;
+                        return false;
+                    }
+                    WordleGame game = prototype.newGame(word);
+                    game.setLabel(gameId.toString());
+                    GameRoom room = new GameRoom(gameId, game, version);
+                    version.retain();
+                    try {
+                        super.add(room);
+                    } catch (RuntimeException e) {
+                        version.release();
+                        throw e;
+                    }
+                    return true;
+                }
+                case JOIN: {
+                    GameRoom room = super.get(gameId);
+                    if (room == null) {
+                        return false;
+                    }
+                    WordleGame game = prototype.newGame(word);
+                    game.setLabel(gameId.toString());
+                    super.join(room, PlayerSession.of(playerId, game));
+                    return true;
+                }
+                case GUESS: {
+                    GameRoom room = super.get(gameId);
+                    PlayerSession ps = room == null ? null : room.getPlayer(playerId);
+                    if (ps == null) {
+                        return false;
+                    }
+                    WordleGame game = ps.getGameInstance();
+                    if (turn > game.getTurnsUsed() + 1) {
+                        pending.computeIfAbsent(playerId, p -> new HashMap<>()).put(turn, word);
+                        return true;
+                    }
+                    if (turn == game.getTurnsUsed() + 1) {
+                        game.play(word);
+                        Map<Integer, Integer> later = pending.get(playerId);
+                        Integer next;
+                        while (later != null && (next = later.remove(game.getTurnsUsed() + 1)) != null) {
+                            game.play(next.intValue());
+                        }
+                    }
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Skipping journal record type={} game={} player={}", type, gameId, playerId, e);
+            return false;
+        }
+    }
+
+    private static boolean fill(FileChannel in, ByteBuffer buf, long offset) throws IOException {
+        buf.clear();
+        while (buf.hasRemaining()) {
+            if (in.read(buf, offset + buf.position()) < 0) {
+                break;
+            }
+        }
+        buf.flip();
+        return buf.limit() >= RECORD_BYTES;
+    }
+
+    private static int answerId(WordleGame game) {
+        String answer = game.getState().getAnswer();
+        return answer == null ? -1 : game.getDictionary().indexOf(answer);
+    }
+
+    private int kind() {
+        return prototype instanceof CheatingWordleGame ? 1 : 0;
+    }
+}
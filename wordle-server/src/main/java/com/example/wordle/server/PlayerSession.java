@@ -1,10 +1,8 @@
 package com.example.wordle.server;
 
-import java.io.IOException;
 import java.util.Objects;
 import java.util.UUID;
 
-import com.example.wordle.CheatingWordleGame;
 import com.example.wordle.WordleGame;
 
 /**
@@ -19,18 +17,25 @@ public class PlayerSession {
      *
      * @param playerId   the unique id of this player
      * @param prototype  the game prototype (normal or cheating)
-     * @param wordFile   the word list resource name
      */
-    public PlayerSession(UUID playerId, WordleGame prototype, String wordFile) throws IOException {
+    public PlayerSession(UUID playerId, WordleGame prototype) {
         this.playerId = playerId;
         Objects.requireNonNull(prototype, "src must not be null");
-        if (prototype instanceof CheatingWordleGame) {
-            // cheating mode: each session gets its own CheatingWordleGame
-            this.gameInstance = new CheatingWordleGame(prototype.getMaxTurns(), wordFile);
-        } else {
-            // normal mode: each session gets its own WordleGame
-            this.gameInstance = new WordleGame(prototype.getMaxTurns(), wordFile);
-        }
+        // each session gets its own game of the prototype's kind,
+        // sharing the prototype's dictionary
+        this.gameInstance = prototype.newGame();
+    }
+
+    private PlayerSession(WordleGame gameInstance, UUID playerId) {
+        this.playerId = playerId;
+        this.gameInstance = gameInstance;
+    }
+
+    /**
+     * wrap an existing game, e.g. one restored from a journal
+     */
+    public static PlayerSession of(UUID playerId, WordleGame gameInstance) {
+        return new PlayerSession(Objects.requireNonNull(gameInstance, "game must not be null"), playerId);
     }
 
     public UUID getPlayerId() {
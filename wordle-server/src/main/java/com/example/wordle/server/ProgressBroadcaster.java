@@ -0,0 +1,75 @@
+package com.example.wordle.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.wordle.server.dto.ProgressEvent;
+
+/**
+ * fan-out of one game's progress events: each event is built once and
+ * handed to every subscriber, so a guess costs one call per subscriber
+ * instead of every spectator polling the whole game
+ */
+public class ProgressBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(ProgressBroadcaster.class);
+
+    /**
+     * receives a game's events; called on the publishing request's thread,
+     * so implementations must hand off anything that may block
+     */
+    public interface Listener {
+        void onEvent(ProgressEvent event);
+
+        /**
+         * the game is gone; no more events will follow
+         */
+        default void onClose() {
+        }
+    }
+
+    // subscribing is rare, publishing is per guess: iterate without locking
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @return action that unsubscribes the listener
+     */
+    public Runnable subscribe(Listener listener) {
+        listeners.add(listener);
+        if (closed && listeners.remove(listener)) {
+            listener.onClose();
+        }
+        return () -> listeners.remove(listener);
+    }
+
+    public void publish(ProgressEvent event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // a broken subscriber must not fail the guess that published
+                listeners.remove(listener);
+                log.debug("dropping progress subscriber", e);
+            }
+        }
+    }
+
+    /**
+     * tell every subscriber the game is gone and drop them
+     */
+    public void close() {
+        closed = true;
+        for (Listener listener : listeners) {
+            if (listeners.remove(listener)) {
+                listener.onClose();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return listeners.size();
+    }
+}
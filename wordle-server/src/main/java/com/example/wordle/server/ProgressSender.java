@@ -0,0 +1,127 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.wordle.server.dto.ProgressEvent;
+
+/**
+ * one subscriber's outgoing progress events: a bounded queue drained on a
+ * shared pool, at most one drain per subscriber at a time, so events stay
+ * in order and a slow connection only delays its own events. A subscriber
+ * that falls a whole queue behind is dropped: its stream is completed once
+ * the send in progress returns, and publishers never touch its connection
+ */
+final class ProgressSender implements ProgressBroadcaster.Listener {
+
+    /**
+     * the connection events are written to; called on a pool thread only
+     */
+    interface Sink {
+        void send(ProgressEvent event) throws IOException;
+
+        void complete();
+    }
+
+    private final Sink sink;
+    private final Executor executor;
+    private final BlockingQueue<ProgressEvent> queue;
+    // a drain is queued or running
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // no more events are taken; complete after those queued, or right away if dropped
+    private volatile boolean closing;
+    private volatile boolean dropped;
+    private volatile Runnable unsubscribe = () -> { };
+    // drain only, one at a time
+    private boolean completed;
+
+    /**
+     * @param capacity events a subscriber may fall behind before it is dropped
+     */
+    ProgressSender(Sink sink, Executor executor, int capacity) {
+        this.sink = sink;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @param unsubscribe removes this sender from the game it listens to
+     */
+    void setUnsubscribe(Runnable unsubscribe) {
+        this.unsubscribe = unsubscribe;
+        if (dropped) {
+            // fell behind while the current state was being sent
+            unsubscribe.run();
+        }
+    }
+
+    @Override
+    public void onEvent(ProgressEvent event) {
+        if (closing) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            drop();
+        }
+        schedule();
+    }
+
+    @Override
+    public void onClose() {
+        closing = true;
+        schedule();
+    }
+
+    /**
+     * @return true once the subscriber fell too far behind or its connection failed
+     */
+    boolean isDropped() {
+        return dropped;
+    }
+
+    private void drop() {
+        dropped = true;
+        closing = true;
+        unsubscribe.run();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            ProgressEvent event;
+            while (!dropped && (event = queue.poll()) != null) {
+                sink.send(event);
+            }
+            if (closing && !completed) {
+                completed = true;
+                queue.clear();
+                sink.complete();
+            }
+        } catch (IOException | RuntimeException e) {
+            // client went away
+            completed = true;
+            queue.clear();
+            drop();
+        } finally {
+            scheduled.set(false);
+        }
+        // an event or close may have come in after the last poll
+        if (!completed && (closing || !queue.isEmpty())) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.wordle.server.dto.ProgressEvent;
+
+/**
+ * server-sent event streams of game progress for the MVC server. Each
+ * stream has its own bounded queue of events, sent in publish order on a
+ * shared pool of wordle.progress.senderThreads, so a guess never waits on a
+ * spectator's connection and a slow spectator only delays its own stream.
+ * A spectator more than wordle.progress.queueSize events behind is
+ * disconnected. A stalled connection still holds a sender thread until its
+ * write fails, so size the pool for the stalled clients to expect
+ */
+@Component
+public class ProgressStreams {
+
+    private final GameService svc;
+    private final int queueSize;
+    private final ExecutorService sender;
+
+    public ProgressStreams(GameService svc,
+                           @Value("${wordle.progress.senderThreads:8}") int senderThreads,
+                           @Value("${wordle.progress.queueSize:256}") int queueSize) {
+        this.svc = svc;
+        this.queueSize = queueSize;
+        AtomicInteger threads = new AtomicInteger();
+        // one drain task per stream at most, so the task queue is bounded by the streams
+        this.sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "progress-events-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * open a stream of the game's progress; it stays open until the client
+     * disconnects, falls too far behind or the game is evicted
+     *
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    public SseEmitter open(UUID gameId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        ProgressSender listener = new ProgressSender(new ProgressSender.Sink() {
+            @Override
+            public void send(ProgressEvent event) throws IOException {
+                emitter.send(SseEmitter.event().name(event.type()).data(event));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        }, sender, queueSize);
+        Runnable unsubscribe = svc.subscribeProgress(gameId, listener);
+        listener.setUnsubscribe(unsubscribe);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.wordle.server;
+
+import java.util.UUID;
+
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.dto.SessionStats;
+
+/**
+ * where GameService keeps live games and their players
+ */
+public interface SessionStore extends AutoCloseable {
+
+    /**
+     * register a new game
+     *
+     * @throws GameCapacityException if no more games can be held
+     */
+    void add(GameRoom room);
+
+    /**
+     * add a player to a live game
+     *
+     * @throws GameCapacityException if no more players can be held
+     */
+    void join(GameRoom room, PlayerSession ps);
+
+    /**
+     * record a guess already applied to the player's game
+     *
+     * @param state the state the guess produced
+     */
+    void guessed(GameRoom room, PlayerSession ps, String guess, WordleGame.State state);
+
+    /**
+     * @return the game, marked as accessed, or null if it does not exist
+     *         or has been evicted
+     */
+    GameRoom get(UUID gameId);
+
+    /**
+     * drop expired games
+     */
+    void sweep();
+
+    SessionStats getStats();
+
+    /**
+     * @return whether add, join or guessed can wait, e.g. on a full journal
+     *         queue, so callers that must not block hand them off
+     */
+    default boolean mayBlock() {
+        return false;
+    }
+
+    /**
+     * release resources; the store must not be used afterwards
+     */
+    @Override
+    void close();
+}
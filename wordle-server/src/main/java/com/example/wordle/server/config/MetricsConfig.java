@@ -0,0 +1,67 @@
+package com.example.wordle.server.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.GameMetrics;
+import com.example.wordle.server.SessionStore;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry registry) {
+        return new GameMetrics(registry);
+    }
+
+    /**
+     * live and evicted session counts, read from the store at scrape time.
+     * the store is looked up lazily: it needs the game prototype, which
+     * records into the registry this binder is applied to
+     */
+    @Bean
+    public MeterBinder sessionMetrics(ObjectProvider<SessionStore> sessions) {
+        return registry -> {
+            Gauge.builder("wordle.sessions.games", sessions, s -> s.getObject().getStats().liveGames())
+                .description("live games")
+                .register(registry);
+            Gauge.builder("wordle.sessions.players", sessions, s -> s.getObject().getStats().livePlayers())
+                .description("players in live games")
+                .register(registry);
+            FunctionCounter.builder("wordle.sessions.evicted", sessions, s -> s.getObject().getStats().evictedIdle())
+                .description("games evicted by the sweeper")
+                .tag("reason", "idle")
+                .register(registry);
+            FunctionCounter.builder("wordle.sessions.evicted", sessions, s -> s.getObject().getStats().evictedFinished())
+                .description("games evicted by the sweeper")
+                .tag("reason", "finished")
+                .register(registry);
+            FunctionCounter.builder("wordle.sessions.rejected", sessions, s -> s.getObject().getStats().rejected())
+                .description("creates and joins rejected at capacity")
+                .register(registry);
+        };
+    }
+
+    /**
+     * current word list version, and how many versions are still held
+     * because games are playing on them; looked up lazily like the store
+     */
+    @Bean
+    public MeterBinder dictionaryMetrics(ObjectProvider<DictionaryRegistry> dictionaries) {
+        return registry -> {
+            Gauge.builder("wordle.dictionary.version", dictionaries, d -> d.getObject().current().getNumber())
+                .description("word list version new games are created on")
+                .register(registry);
+            Gauge.builder("wordle.dictionary.versions", dictionaries, d -> d.getObject().getVersions().size())
+                .description("word list versions in memory, the current one and retired ones still in use")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.wordle.server.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.InMemorySessionStore;
+import com.example.wordle.server.JournalSessionStore;
+import com.example.wordle.server.SessionStore;
+
+@Configuration
+public class SessionStoreConfig {
+
+    @Value("${wordle.session.idleTtl:30m}")
+    private Duration idleTtl;
+
+    @Value("${wordle.session.finishedGrace:5m}")
+    private Duration finishedGrace;
+
+    @Value("${wordle.session.maxGames:100000}")
+    private int maxGames;
+
+    @Value("${wordle.session.maxPlayers:100000}")
+    private int maxPlayers;
+
+    @Value("${wordle.session.journal:}")
+    private String journal;
+
+    @Value("${wordle.session.journalForce:false}")
+    private boolean journalForce;
+
+    /**
+     * keep games in memory only, or also journal them to disk
+     * when wordle.session.journal names a file; restored games are on
+     * the word list read at startup
+     */
+    @Bean(destroyMethod = "close")
+    public SessionStore sessionStore(DictionaryRegistry dictionaries) throws IOException {
+        if (journal.isBlank()) {
+            return new InMemorySessionStore(idleTtl, finishedGrace, maxGames, maxPlayers);
+        }
+        return new JournalSessionStore(idleTtl, finishedGrace, maxGames, maxPlayers,
+            dictionaries.current(), Path.of(journal), journalForce);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.wordle.server.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * wordle.threads=virtual: run each request on its own virtual thread instead
+ * of Tomcat's platform thread pool, so slow or waiting clients do not hold
+ * a pool thread. Virtual threads need Java 21; on older runtimes the
+ * platform pool is kept and a warning is logged. The executor in use is
+ * logged at startup either way.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${wordle.threads:platform}")
+    private String threads;
+
+    private ExecutorService requestExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> requestExecutor() {
+        if (threads.equals("virtual")) {
+            requestExecutor = newVirtualThreadPerTaskExecutor();
+        }
+        if (requestExecutor == null) {
+            log.info("Handling requests on Tomcat's platform thread pool (wordle.threads={})", threads);
+            return handler -> { };
+        }
+        log.info("Handling requests on virtual threads, one per request (wordle.threads={})", threads);
+        ExecutorService executor = requestExecutor;
+        return handler -> handler.setExecutor(executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+
+    /**
+     * looked up reflectively so the server still builds and runs on Java 17
+     *
+     * @return the executor, or null if this runtime has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            log.warn("wordle.threads=virtual needs Java 21+, running on {}; keeping the platform thread pool",
+                Runtime.version());
+        } catch (InvocationTargetException e) {
+            // Java 19/20 without --enable-preview
+            log.warn("Virtual threads are not available ({}); keeping the platform thread pool",
+                e.getCause().toString());
+        }
+        return null;
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.wordle.server.config;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.DecisionTree;
+import com.example.wordle.Dictionary;
+import com.example.wordle.DictionaryLoader;
+import com.example.wordle.FeedbackTable;
+import com.example.wordle.Solver;
 import com.example.wordle.WordleGame;
+import com.example.wordle.server.DictionaryRegistry;
+import com.example.wordle.server.DictionaryVersion;
+import com.example.wordle.server.GameMetrics;
 
 @Configuration
 public class WordleGameConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(WordleGameConfig.class);
+
     @Value("${wordle.mode}")
     private String mode;
 
@@ -21,14 +37,143 @@ public class WordleGameConfig {
     @Value("${wordle.wordFile}")
     private String wordFile;
 
+    @Value("${wordle.feedbackTable:false}")
+    private boolean feedbackTable;
+
+    @Value("${wordle.feedbackTableCache:}")
+    private String feedbackTableCache;
+
+    @Value("${wordle.parallelThreshold:" + CheatingWordleGame.DEFAULT_PARALLEL_THRESHOLD + "}")
+    private int parallelThreshold;
+
+    @Value("${wordle.parallelism:0}")
+    private int parallelism;
+
+    @Value("${wordle.solver.parallelThreshold:" + Solver.DEFAULT_PARALLEL_THRESHOLD + "}")
+    private int solverParallelThreshold;
+
+    @Value("${wordle.solver.warmOpening:true}")
+    private boolean warmOpening;
+
+    @Value("${wordle.solver.decisionTree:}")
+    private String decisionTree;
+
+    // the dedicated scoring pool, if one was created; never the common pool
+    private ForkJoinPool ownedPool;
+
     /**
-     * create either a normal or cheating WordleGame based on mode
+     * the word list read at startup, for the first dictionary version and
+     * the metrics' bounds; reloads read it again through the registry
      */
     @Bean
-    public WordleGame gamePrototype() throws IOException {
-        if ("cheat".equalsIgnoreCase(mode)) {
-            return new CheatingWordleGame(maxTurns, wordFile);
+    public Dictionary dictionary() throws IOException {
+        return readDictionary();
+    }
+
+    /**
+     * pool shared by all cheating games for scoring large candidate sets;
+     * the common pool unless a dedicated parallelism is configured. only a
+     * dedicated pool is shut down, by shutdownScoringPool
+     */
+    @Bean(destroyMethod = "")
+    public ForkJoinPool scoringPool() {
+        if (parallelism > 0) {
+            ownedPool = new ForkJoinPool(parallelism);
+            return ownedPool;
+        }
+        return ForkJoinPool.commonPool();
+    }
+
+    @PreDestroy
+    public void shutdownScoringPool() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    /**
+     * the game prototype and solver of the current word list; POST
+     * /admin/dictionary/reload builds the next version from wordle.wordFile
+     */
+    @Bean(destroyMethod = "close")
+    public DictionaryRegistry dictionaryRegistry(Dictionary dictionary, ForkJoinPool scoringPool,
+                                                 GameMetrics metrics) throws IOException {
+        DictionaryVersion initial = build(1, dictionary, scoringPool, metrics);
+        return new DictionaryRegistry(initial, this::readDictionary,
+            (number, next) -> build(number, next, scoringPool, metrics));
+    }
+
+    /**
+     * a normal or cheating prototype, depending on mode, and a hint engine
+     * on the same dictionary, pool and feedback table, with the optional
+     * decision tree from wordle-cli. the opening hint is computed (and the
+     * tree mapped) ahead of the first hint request: in the background at
+     * startup, before publishing on a reload
+     */
+    private DictionaryVersion build(int number, Dictionary dictionary, ForkJoinPool scoringPool,
+                                    GameMetrics metrics) throws IOException {
+        dictionary.prepare();
+        FeedbackTable table = feedbackTable(dictionary);
+        WordleGame prototype = "cheat".equalsIgnoreCase(mode)
+            ? new CheatingWordleGame(maxTurns, dictionary, table, scoringPool, parallelThreshold, metrics)
+            : new WordleGame(maxTurns, dictionary);
+        Path tree = decisionTree.isBlank() ? null : Path.of(decisionTree);
+        Solver solver = new Solver(dictionary, table, scoringPool, solverParallelThreshold, tree);
+        if (warmOpening) {
+            Runnable warm = () -> {
+                long start = System.nanoTime();
+                solver.opening(Solver.Strategy.ENTROPY);
+                log.info("Opening hint ready: words={} millis={}",
+                    dictionary.size(), (System.nanoTime() - start) / 1_000_000);
+                logDecisionTree(solver, tree);
+            };
+            if (number == 1) {
+                scoringPool.execute(warm);
+            } else {
+                warm.run();
+            }
+        }
+        return new DictionaryVersion(number, prototype, solver);
+    }
+
+    private Dictionary readDictionary() throws IOException {
+        // read, not load: a cached dictionary would outlive its version
+        Dictionary dictionary = Dictionary.read(wordFile);
+        DictionaryLoader.Report report = dictionary.getLoadReport();
+        if (report.malformed() > 0) {
+            log.warn("Word list loaded, malformed lines skipped: {}", report.summary());
+        } else {
+            log.info("Word list loaded: {}", report.summary());
+        }
+        return dictionary;
+    }
+
+    private static void logDecisionTree(Solver solver, Path file) {
+        if (file == null) {
+            return;
+        }
+        DecisionTree tree = solver.getDecisionTree();
+        if (tree == null) {
+            log.warn("Decision tree {} is missing or was built for another word list; hints are computed", file);
+        } else {
+            log.info("Decision tree mapped: strategy={} plies={} width={} nodes={} bytes={}",
+                tree.getStrategy(), tree.getPlies(), tree.getWidth(), tree.getNodeCount(), tree.getSizeBytes());
+        }
+    }
+
+    /**
+     * precompute the feedback table if enabled, mapping it from the cache
+     * file when one is configured; the cache is rebuilt for a new word list
+     */
+    private FeedbackTable feedbackTable(Dictionary dictionary) throws IOException {
+        if (!feedbackTable) {
+            return null;
         }
-        return new WordleGame(maxTurns, wordFile);
+        FeedbackTable table = feedbackTableCache.isBlank()
+            ? FeedbackTable.build(dictionary)
+            : FeedbackTable.loadOrBuild(dictionary, Path.of(feedbackTableCache));
+        log.info("Feedback table ready: words={} bytes={} mapped={} millis={}",
+            table.size(), table.getSizeBytes(), table.isMapped(), table.getBuildMillis());
+        return table;
     }
 }
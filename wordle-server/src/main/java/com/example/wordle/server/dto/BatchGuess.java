@@ -0,0 +1,12 @@
+package com.example.wordle.server.dto;
+
+import java.util.UUID;
+
+/**
+ * one guess of a batch: which player of which game guesses what
+ */
+public record BatchGuess(
+    UUID gameId,
+    UUID playerId,
+    String guess
+) {}
@@ -0,0 +1,10 @@
+package com.example.wordle.server.dto;
+
+/**
+ * result of one guess of a batch, at the same position as the guess
+ */
+public record BatchGuessResult(
+    int status,            // 200, 400 for an invalid guess/game/player, 409 once the game is over
+    GuessResponse result,  // null unless status is 200
+    String message         // null when status is 200
+) {}
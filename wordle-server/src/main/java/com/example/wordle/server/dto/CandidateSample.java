@@ -0,0 +1,12 @@
+package com.example.wordle.server.dto;
+
+import java.util.List;
+
+/**
+ * remaining candidate words of a game, for diagnostics
+ */
+public record CandidateSample(
+    int remaining,      // total candidates left
+    int offset,         // index of the first word in this page
+    List<String> words  // one page of candidates, in dictionary order
+) {}
@@ -0,0 +1,16 @@
+package com.example.wordle.server.dto;
+
+import java.time.Instant;
+
+/**
+ * one loaded word list version, for diagnostics
+ */
+public record DictionaryInfo(
+    int version,         // increases with every reload that changed the words
+    String source,       // word file it was read from
+    int words,           // dictionary size
+    String fingerprint,  // hex hash of the words, as recorded in the session journal
+    Instant loadedAt,    // when this version was built
+    int liveGames,       // games still playing on this version
+    boolean current      // new games use this version
+) {}
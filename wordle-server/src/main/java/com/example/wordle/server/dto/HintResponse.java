@@ -0,0 +1,14 @@
+package com.example.wordle.server.dto;
+
+import java.util.List;
+
+import com.example.wordle.Solver;
+
+/**
+ * suggested next guesses for one player, best first
+ */
+public record HintResponse(
+    Solver.Strategy strategy,
+    int remaining,  // words that may still be the answer
+    List<Solver.Suggestion> suggestions
+) {}
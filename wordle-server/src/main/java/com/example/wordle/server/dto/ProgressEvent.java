@@ -0,0 +1,16 @@
+package com.example.wordle.server.dto;
+
+import java.util.UUID;
+
+/**
+ * one player's progress, pushed to a game's subscribers when it changes
+ */
+public record ProgressEvent(
+    String type,     // "progress" (state at subscribe time), "join" or "guess"
+    UUID playerId,
+    int turnsUsed,   // events of one player may arrive out of order; keep the highest
+    int maxTurns,
+    boolean hasWon,
+    boolean isOver,
+    String answer    // revealed only when isOver is true
+) {}
@@ -0,0 +1,14 @@
+package com.example.wordle.server.dto;
+
+/**
+ * live and evicted session counts, for diagnostics
+ */
+public record SessionStats(
+    int liveGames,          // games currently held
+    int livePlayers,        // players across all live games
+    int maxGames,           // configured cap on live games
+    int maxPlayers,         // configured cap on live players
+    long evictedIdle,       // games dropped after idleTtl without activity
+    long evictedFinished,   // finished games dropped after finishedGrace
+    long rejected           // create/join calls refused because a cap was reached
+) {}
@@ -0,0 +1,209 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.dto.DictionaryInfo;
+
+/**
+ * Unit tests for {@link DictionaryRegistry} and {@link DictionaryVersion}:
+ * a retired version kept until its last game is released, failed and
+ * no-op reloads keeping the current version, a game created during a
+ * swap getting the new version, and reference counts staying consistent
+ * while games come and go around a swap.
+ */
+class DictionaryRegistryTest {
+
+    private static final Dictionary FIRST = Dictionary.of("registry-first",
+        List.of("crazy", "fresh", "hello", "fancy", "quite"));
+    private static final Dictionary SECOND = Dictionary.of("registry-second",
+        List.of("panic", "buggy", "crane", "slate", "crazy", "fresh"));
+
+    private DictionaryRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    /**
+     * After a reload, new games should get the new version while the old
+     * one stays listed for the games still on it, and is reclaimed once the
+     * last of them is released.
+     */
+    @Test
+    void reloadKeepsOldVersionUntilLastGameReleased() throws Exception {
+        DictionaryVersion first = version(1, FIRST);
+        registry = new DictionaryRegistry(first, () -> SECOND, DictionaryRegistryTest::version);
+        assertSame(first, registry.acquire());
+        assertSame(first, registry.acquire());
+
+        DictionaryInfo reloaded = registry.reload().get(5, TimeUnit.SECONDS);
+        assertEquals(2, reloaded.version());
+        assertTrue(reloaded.current());
+        DictionaryVersion second = registry.current();
+        assertSame(SECOND, second.getDictionary());
+        assertSame(second, registry.acquire());
+
+        List<DictionaryInfo> versions = registry.getVersions();
+        assertEquals(2, versions.size());
+        assertEquals(2, versions.get(1).liveGames());
+        assertFalse(versions.get(1).current());
+
+        first.release();
+        assertEquals(2, registry.getVersions().size(), "one game still plays on the old words");
+        first.release();
+        assertEquals(1, registry.getVersions().size());
+        assertEquals(2, registry.getVersions().get(0).version());
+        assertFalse(first.retain(), "a reclaimed version is never handed out again");
+    }
+
+    /**
+     * A word list that cannot be read should fail the reload and leave the
+     * current version in place; a later reload should still run.
+     */
+    @Test
+    void failedReloadKeepsCurrentVersion() throws Exception {
+        DictionaryVersion first = version(1, FIRST);
+        AtomicBoolean broken = new AtomicBoolean(true);
+        registry = new DictionaryRegistry(first, () -> {
+            if (broken.get()) {
+                throw new IOException("word file missing");
+            }
+            return SECOND;
+        }, DictionaryRegistryTest::version);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> registry.reload().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause().getCause());
+        assertSame(first, registry.current());
+        assertEquals(1, registry.getVersions().size());
+        assertSame(first, registry.acquire());
+
+        broken.set(false);
+        assertEquals(2, registry.reload().get(5, TimeUnit.SECONDS).version());
+    }
+
+    /**
+     * Reading the same words again should keep the current version without
+     * building a new one.
+     */
+    @Test
+    void unchangedWordsKeepCurrentVersion() throws Exception {
+        DictionaryVersion first = version(1, FIRST);
+        AtomicInteger builds = new AtomicInteger();
+        registry = new DictionaryRegistry(first, () -> Dictionary.of("registry-copy", FIRST.getWords()),
+            (number, dictionary) -> {
+                builds.incrementAndGet();
+                return version(number, dictionary);
+            });
+
+        DictionaryInfo info = registry.reload().get(5, TimeUnit.SECONDS);
+        assertEquals(1, info.version());
+        assertTrue(info.current());
+        assertSame(first, registry.current());
+        assertEquals(0, builds.get());
+    }
+
+    /**
+     * A reload that publishes between acquire's read of the current version
+     * and its reference should send the new game to the new version, and
+     * leave the old one to the games already on it.
+     */
+    @Test
+    void acquireRacingReloadGetsNewVersion() throws Exception {
+        DictionaryVersion first = version(1, FIRST);
+        AtomicBoolean interleave = new AtomicBoolean();
+        registry = new DictionaryRegistry(first, () -> SECOND, DictionaryRegistryTest::version) {
+            @Override
+            public DictionaryVersion current() {
+                DictionaryVersion read = super.current();
+                if (interleave.getAndSet(false)) {
+                    reload().join();
+                }
+                return read;
+            }
+        };
+        assertSame(first, registry.acquire());
+
+        interleave.set(true);
+        DictionaryVersion acquired = registry.acquire();
+        assertEquals(2, acquired.getNumber());
+        assertSame(SECOND, acquired.getDictionary());
+        assertEquals(1, first.getGames(), "only the game from before the reload");
+
+        first.release();
+        assertFalse(first.retain(), "reclaimed with its last game");
+        assertEquals(1, registry.getVersions().size());
+    }
+
+    /**
+     * Games created and evicted on several threads while the version is
+     * swapped should only ever get a live version, and leave every count
+     * at zero with the old version reclaimed.
+     */
+    @Test
+    void concurrentAcquireAndReleaseAroundSwap() throws Exception {
+        DictionaryVersion first = version(1, FIRST);
+        registry = new DictionaryRegistry(first, () -> SECOND, DictionaryRegistryTest::version);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger unretained = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread t = new Thread(() -> {
+                started.countDown();
+                while (!stop.get()) {
+                    DictionaryVersion v = registry.acquire();
+                    if (v.getGames() < 1) {
+                        unretained.incrementAndGet();
+                    }
+                    v.release();
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        started.await();
+        DictionaryInfo reloaded = registry.reload().get(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        stop.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(2, reloaded.version());
+        assertEquals(0, unretained.get());
+        DictionaryVersion second = registry.current();
+        assertEquals(0, second.getGames());
+        assertFalse(first.retain());
+        List<DictionaryInfo> versions = registry.getVersions();
+        assertEquals(1, versions.size());
+        assertEquals(0, versions.get(0).liveGames());
+        assertTrue(second.retain(), "the current version is never reclaimed");
+    }
+
+    private static DictionaryVersion version(int number, Dictionary dictionary) {
+        return new DictionaryVersion(number, new WordleGame(6, dictionary), new Solver(dictionary));
+    }
+}
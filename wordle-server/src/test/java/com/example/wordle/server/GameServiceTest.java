@@ -0,0 +1,249 @@
+package com.example.wordle.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+import com.example.wordle.server.dto.BatchGuess;
+import com.example.wordle.server.dto.BatchGuessResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link GameService}'s batch guesses and the batch
+ * endpoint: guesses applied in order, a finished player's remaining
+ * guesses rejected, the batch size cap, and per-item errors; hints and
+ * guesses for a finished game refused as a conflict; joins on a swept game
+ * refused without leaking a player slot; which games play without blocking.
+ */
+class GameServiceTest {
+
+    private static final Dictionary DICT = Dictionary.of("service-test",
+        List.of("crazy", "fresh", "hello", "fancy", "quite", "panic", "buggy"));
+
+    private InMemorySessionStore store;
+    private GameService svc;
+    private ProgressStreams streams;
+    private GameController controller;
+
+    @BeforeEach
+    void setUp() {
+        DictionaryVersion version = new DictionaryVersion(1, new WordleGame(3, DICT), new Solver(DICT));
+        store = new InMemorySessionStore(Duration.ofHours(1), Duration.ofHours(1), 100, 100);
+        GameMetrics metrics = new GameMetrics(new SimpleMeterRegistry());
+        svc = new GameService(new DictionaryRegistry(version), store, metrics);
+        streams = new ProgressStreams(svc, 1, 8);
+        controller = new GameController(svc, streams);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.shutdown();
+        store.close();
+    }
+
+    /**
+     * Results should line up with the batch, and each player's guesses
+     * should be played in batch order even when interleaved with other
+     * games and players.
+     */
+    @Test
+    void batchPlaysEachPlayersGuessesInOrder() {
+        UUID game1 = svc.createGame();
+        UUID a = svc.joinGame(game1);
+        UUID b = svc.joinGame(game1);
+        UUID game2 = svc.createGame();
+        UUID c = svc.joinGame(game2);
+        List<String> forA = wrongGuesses(game1, a, 2);
+        List<String> forB = wrongGuesses(game1, b, 2);
+        List<String> forC = wrongGuesses(game2, c, 2);
+
+        List<BatchGuessResult> results = svc.submitGuesses(List.of(
+            new BatchGuess(game1, a, forA.get(0)),
+            new BatchGuess(game2, c, forC.get(0)),
+            new BatchGuess(game1, b, forB.get(0)),
+            new BatchGuess(game1, a, forA.get(1)),
+            new BatchGuess(game2, c, forC.get(1)),
+            new BatchGuess(game1, b, forB.get(1))));
+
+        assertEquals(6, results.size());
+        int[] turns = {1, 1, 1, 2, 2, 2};
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(200, results.get(i).status(), "item " + i);
+            assertEquals(turns[i], results.get(i).result().turnsUsed(), "item " + i);
+        }
+        assertArrayEquals(ids(forA), guessIds(game1, a));
+        assertArrayEquals(ids(forB), guessIds(game1, b));
+        assertArrayEquals(ids(forC), guessIds(game2, c));
+    }
+
+    /**
+     * Once a player's game is over, that player's remaining guesses in the
+     * batch should get 409 while other players carry on.
+     */
+    @Test
+    void batchStopsPlayerAtGameOver() {
+        UUID gameId = svc.createGame();
+        UUID done = svc.joinGame(gameId);
+        UUID other = svc.joinGame(gameId);
+        String answer = game(gameId, done).getAnswer();
+        String wrong = wrongGuesses(gameId, other, 1).get(0);
+
+        List<BatchGuessResult> results = svc.submitGuesses(List.of(
+            new BatchGuess(gameId, done, answer),
+            new BatchGuess(gameId, done, wrong),
+            new BatchGuess(gameId, other, wrong)));
+
+        assertEquals(200, results.get(0).status());
+        assertTrue(results.get(0).result().hasWon());
+        assertEquals(answer, results.get(0).result().answer());
+        assertEquals(409, results.get(1).status());
+        assertNull(results.get(1).result());
+        assertEquals(200, results.get(2).status());
+        assertEquals(1, game(gameId, done).getTurnsUsed());
+    }
+
+    /**
+     * A batch over the cap should be refused as a whole, by the service and
+     * as a 400 from the endpoint.
+     */
+    @Test
+    void oversizedBatchIsRejected() {
+        UUID gameId = svc.createGame();
+        UUID playerId = svc.joinGame(gameId);
+        List<BatchGuess> batch = Collections.nCopies(1001, new BatchGuess(gameId, playerId, "hello"));
+
+        assertThrows(IllegalArgumentException.class, () -> svc.submitGuesses(batch));
+        ResponseEntity<?> response = controller.guesses(batch);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(0, game(gameId, playerId).getTurnsUsed(), "nothing of a refused batch is played");
+    }
+
+    /**
+     * Bad items should fail on their own with 400 and leave the rest of the
+     * batch to be played.
+     */
+    @Test
+    void badItemsFailAlone() {
+        UUID gameId = svc.createGame();
+        UUID playerId = svc.joinGame(gameId);
+        String wrong = wrongGuesses(gameId, playerId, 1).get(0);
+        List<BatchGuess> batch = new ArrayList<>();
+        batch.add(new BatchGuess(gameId, playerId, "zzzzz"));
+        batch.add(new BatchGuess(UUID.randomUUID(), playerId, wrong));
+        batch.add(new BatchGuess(gameId, UUID.randomUUID(), wrong));
+        batch.add(new BatchGuess(gameId, null, wrong));
+        batch.add(null);
+        batch.add(new BatchGuess(gameId, playerId, wrong));
+
+        ResponseEntity<?> response = controller.guesses(batch);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<BatchGuessResult> results = (List<BatchGuessResult>) response.getBody();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(400, results.get(i).status(), "item " + i);
+            assertNull(results.get(i).result());
+            assertTrue(results.get(i).message() != null, "item " + i);
+        }
+        assertEquals(200, results.get(5).status());
+        assertEquals(1, results.get(5).result().turnsUsed(), "the invalid guess used no turn");
+    }
+
+    /**
+     * A hint for a finished game should be refused the same way as a
+     * guess, and both should be a 409 from the endpoints.
+     */
+    @Test
+    void finishedGameIsConflict() {
+        UUID gameId = svc.createGame();
+        UUID playerId = svc.joinGame(gameId);
+        svc.submitGuess(gameId, playerId, game(gameId, playerId).getAnswer());
+
+        IllegalStateException hint = assertThrows(IllegalStateException.class,
+            () -> controller.hint(gameId, playerId, "entropy", 5));
+        IllegalStateException guess = assertThrows(IllegalStateException.class,
+            () -> controller.guess(gameId, playerId, Map.of("guess", "hello")));
+        assertEquals(HttpStatus.CONFLICT, controller.gameOver(hint).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, controller.gameOver(guess).getStatusCode());
+    }
+
+    /**
+     * A join that loses the race with the sweep should be refused without
+     * keeping a player slot, so later joins still fit under the cap.
+     */
+    @Test
+    void joinAfterSweepKeepsNoPlayerSlot() {
+        InMemorySessionStore swept = new InMemorySessionStore(Duration.ZERO, Duration.ZERO, 10, 1);
+        DictionaryVersion version = new DictionaryVersion(1, new WordleGame(3, DICT), new Solver(DICT));
+        GameRoom gone = new GameRoom(UUID.randomUUID(), version.getPrototype(), version);
+        version.retain();
+        swept.add(gone);
+        swept.sweep();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> swept.join(gone, new PlayerSession(UUID.randomUUID(), version.getPrototype())));
+        assertTrue(gone.getPlayers().isEmpty(), "no player on a room that is no longer stored");
+        assertEquals(0, swept.getStats().livePlayers());
+
+        GameRoom live = new GameRoom(UUID.randomUUID(), version.getPrototype(), version);
+        version.retain();
+        swept.add(live);
+        swept.join(live, new PlayerSession(UUID.randomUUID(), version.getPrototype()));
+        assertEquals(1, swept.getStats().livePlayers());
+    }
+
+    /**
+     * Only normal games in a store that never waits should be played where
+     * the caller cannot block, e.g. on the reactive server's event loop.
+     */
+    @Test
+    void onlyNormalGamesInMemoryAreNonBlocking() {
+        assertTrue(svc.isNonBlocking());
+        DictionaryVersion cheating = new DictionaryVersion(1, new CheatingWordleGame(3, DICT), new Solver(DICT));
+        GameService cheat = new GameService(new DictionaryRegistry(cheating), store,
+            new GameMetrics(new SimpleMeterRegistry()));
+        assertFalse(cheat.isNonBlocking());
+    }
+
+    private WordleGame game(UUID gameId, UUID playerId) {
+        return store.get(gameId).getPlayer(playerId).getGameInstance();
+    }
+
+    /**
+     * @return count distinct words that are not the player's answer
+     */
+    private List<String> wrongGuesses(UUID gameId, UUID playerId, int count) {
+        String answer = game(gameId, playerId).getAnswer();
+        List<String> words = new ArrayList<>(DICT.getWords());
+        words.remove(answer);
+        Collections.shuffle(words);
+        return words.subList(0, count);
+    }
+
+    private int[] guessIds(UUID gameId, UUID playerId) {
+        return game(gameId, playerId).getState().getGuessIds();
+    }
+
+    private static int[] ids(List<String> words) {
+        return words.stream().mapToInt(DICT::indexOf).toArray();
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.wordle.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.wordle.CheatingWordleGame;
+import com.example.wordle.Dictionary;
+import com.example.wordle.Solver;
+import com.example.wordle.WordleGame;
+
+/**
+ * Unit tests for {@link JournalSessionStore}: games restored after a
+ * restart, evicted games and torn records skipped on replay, the
+ * journal compacted to the live games, and forced batches kept across
+ * mapped chunks.
+ */
+class JournalSessionStoreTest {
+
+    private static final Dictionary DICT = Dictionary.of("journal-test",
+        List.of("crazy", "fresh", "hello", "fancy", "quite", "panic", "buggy"));
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 40;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Games, players and guesses should come back after a restart, with
+     * the answer and feedback they had.
+     */
+    @Test
+    void gamesSurviveRestart() throws IOException {
+        Path file = dir.resolve("journal");
+        DictionaryVersion version = version(new WordleGame(6, DICT));
+        UUID gameId;
+        UUID playerId = UUID.randomUUID();
+        try (JournalSessionStore store = open(version, file, Duration.ofHours(1))) {
+            GameRoom room = create(store, version, "crazy");
+            gameId = room.getGameId();
+            PlayerSession ps = join(store, room, playerId, "crazy");
+            guess(store, room, ps, "fresh");
+            guess(store, room, ps, "hello");
+        }
+
+        DictionaryVersion restarted = version(new WordleGame(6, DICT));
+        try (JournalSessionStore store = open(restarted, file, Duration.ofHours(1))) {
+            GameRoom room = store.get(gameId);
+            assertNotNull(room);
+            assertEquals(1, restarted.getGames());
+            WordleGame game = room.getPlayer(playerId).getGameInstance();
+            assertEquals("crazy", game.getAnswer());
+            assertEquals(2, game.getTurnsUsed());
+            assertEquals(DICT.indexOf("hello"), game.getState().getGuessIds()[1]);
+            assertTrue(game.guess("crazy"));
+        }
+    }
+
+    /**
+     * A cheating host has no answer to journal: replaying the guesses
+     * should narrow it to the same candidates.
+     */
+    @Test
+    void cheatingGameReplaysToSameCandidates() throws IOException {
+        Path file = dir.resolve("journal");
+        DictionaryVersion version = version(new CheatingWordleGame(6, DICT));
+        UUID gameId;
+        UUID playerId = UUID.randomUUID();
+        List<String> candidates;
+        try (JournalSessionStore store = open(version, file, Duration.ofHours(1))) {
+            GameRoom room = create(store, version, null);
+            gameId = room.getGameId();
+            PlayerSession ps = join(store, room, playerId, null);
+            guess(store, room, ps, "hello");
+            candidates = new ArrayList<>(ps.getGameInstance().getWordList());
+        }
+
+        try (JournalSessionStore store = open(version(new CheatingWordleGame(6, DICT)), file, Duration.ofHours(1))) {
+            WordleGame game = store.get(gameId).getPlayer(playerId).getGameInstance();
+            assertEquals(candidates, new ArrayList<>(game.getWordList()));
+        }
+    }
+
+    /**
+     * Games evicted before the restart should not come back, and the
+     * rewritten journal should hold only the records of live games.
+     */
+    @Test
+    void replaySkipsEvictedGamesAndCompacts() throws IOException {
+        Path file = dir.resolve("journal");
+        DictionaryVersion version = version(new WordleGame(6, DICT));
+        UUID finishedId;
+        UUID liveId;
+        try (JournalSessionStore store = open(version, file, Duration.ZERO)) {
+            GameRoom finished = create(store, version, "crazy");
+            finishedId = finished.getGameId();
+            guess(store, finished, join(store, finished, UUID.randomUUID(), "crazy"), "crazy");
+            GameRoom live = create(store, version, "fresh");
+            liveId = live.getGameId();
+            guess(store, live, join(store, live, UUID.randomUUID(), "fresh"), "hello");
+            // finished games are evicted once untouched for the grace period
+            store.sweep();
+            assertNull(store.get(finishedId));
+            assertEquals(1, version.getGames());
+        }
+        List<UUID> before = games(file);
+        assertEquals(7, before.size(), "two games of three records and an evict");
+        assertTrue(before.contains(finishedId));
+
+        try (JournalSessionStore store = open(version(new WordleGame(6, DICT)), file, Duration.ofHours(1))) {
+            assertNull(store.get(finishedId));
+            assertNotNull(store.get(liveId));
+            assertEquals(1, store.getStats().liveGames());
+        }
+        assertEquals(List.of(liveId, liveId, liveId), games(file));
+    }
+
+    /**
+     * A record whose type byte never reached the file, as after a crash in
+     * the middle of a write, should end the journal.
+     */
+    @Test
+    void tornLastRecordIsIgnored() throws IOException {
+        Path file = dir.resolve("journal");
+        UUID gameId = journalTwoGuesses(file);
+        long last = HEADER_BYTES + (games(file).size() - 1) * (long) RECORD_BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[1]), last);
+        }
+        assertRestoredWithOneGuess(file, gameId);
+    }
+
+    /**
+     * A journal cut off in the middle of its last record should be read up
+     * to the record before.
+     */
+    @Test
+    void truncatedLastRecordIsIgnored() throws IOException {
+        Path file = dir.resolve("journal");
+        UUID gameId = journalTwoGuesses(file);
+        long last = HEADER_BYTES + (games(file).size() - 1) * (long) RECORD_BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(last + RECORD_BYTES / 2);
+        }
+        assertRestoredWithOneGuess(file, gameId);
+    }
+
+    /**
+     * Closing while request threads keep appending should neither hang nor
+     * leave a journal that cannot be replayed.
+     */
+    @Test
+    void closeWhileAppending() throws Exception {
+        Path file = dir.resolve("journal");
+        DictionaryVersion version = version(new WordleGame(6, DICT));
+        JournalSessionStore store = open(version, file, Duration.ofHours(1));
+        GameRoom room = create(store, version, "crazy");
+        UUID gameId = room.getGameId();
+        PlayerSession ps = join(store, room, UUID.randomUUID(), "crazy");
+        WordleGame.State state = ps.getGameInstance().getState();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread t = new Thread(() -> {
+                started.countDown();
+                while (!stop.get()) {
+                    // a guess for turn 0 changes nothing on replay
+                    store.guessed(room, ps, "fresh", state);
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        started.await();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), store::close);
+        stop.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        try (JournalSessionStore reopened = open(version(new WordleGame(6, DICT)), file, Duration.ofHours(1))) {
+            assertNotNull(reopened.get(gameId));
+        }
+    }
+
+    /**
+     * With force on, a batch that fills one mapped chunk and carries on in
+     * the next should keep every record, before and after the boundary.
+     */
+    @Test
+    void forcedBatchAcrossChunks() throws IOException {
+        Path file = dir.resolve("journal");
+        DictionaryVersion version = version(new WordleGame(6, DICT));
+        List<UUID> gameIds = new ArrayList<>();
+        try (JournalSessionStore store = new JournalSessionStore(Duration.ofHours(1), Duration.ofHours(1),
+                100, 100, version, file, true, 4L * RECORD_BYTES)) {
+            for (int i = 0; i < 5; i++) {
+                GameRoom room = create(store, version, "crazy");
+                guess(store, room, join(store, room, UUID.randomUUID(), "crazy"), "fresh");
+                gameIds.add(room.getGameId());
+            }
+        }
+        assertEquals(15, games(file).size(), "five games of three records over four chunks");
+
+        try (JournalSessionStore store = open(version(new WordleGame(6, DICT)), file, Duration.ofHours(1))) {
+            for (UUID gameId : gameIds) {
+                assertEquals(1, store.get(gameId).getPlayers().get(0).getGameInstance().getTurnsUsed());
+            }
+        }
+    }
+
+    /**
+     * journal one game whose player guessed twice
+     */
+    private UUID journalTwoGuesses(Path file) throws IOException {
+        DictionaryVersion version = version(new WordleGame(6, DICT));
+        try (JournalSessionStore store = open(version, file, Duration.ofHours(1))) {
+            GameRoom room = create(store, version, "crazy");
+            PlayerSession ps = join(store, room, UUID.randomUUID(), "crazy");
+            guess(store, room, ps, "fresh");
+            guess(store, room, ps, "hello");
+            return room.getGameId();
+        }
+    }
+
+    private void assertRestoredWithOneGuess(Path file, UUID gameId) throws IOException {
+        try (JournalSessionStore store = open(version(new WordleGame(6, DICT)), file, Duration.ofHours(1))) {
+            WordleGame game = store.get(gameId).getPlayers().get(0).getGameInstance();
+            assertEquals(1, game.getTurnsUsed());
+            assertEquals(DICT.indexOf("fresh"), game.getState().getGuessIds()[0]);
+        }
+        assertEquals(3, games(file).size(), "the torn record is dropped by the rewrite");
+    }
+
+    private static DictionaryVersion version(WordleGame prototype) {
+        return new DictionaryVersion(1, prototype, new Solver(DICT));
+    }
+
+    private static JournalSessionStore open(DictionaryVersion version, Path file, Duration finishedGrace)
+            throws IOException {
+        return new JournalSessionStore(Duration.ofHours(1), finishedGrace, 100, 100, version, file, false);
+    }
+
+    /**
+     * @param answer the game's answer, or null for a cheating host
+     */
+    private static GameRoom create(JournalSessionStore store, DictionaryVersion version, String answer) {
+        WordleGame prototype = version.getPrototype();
+        GameRoom room = new GameRoom(UUID.randomUUID(),
+            prototype.newGame(answer == null ? -1 : DICT.indexOf(answer)), version);
+        assertTrue(version.retain());
+        store.add(room);
+        return room;
+    }
+
+    private static PlayerSession join(JournalSessionStore store, GameRoom room, UUID playerId, String answer) {
+        WordleGame prototype = room.getVersion().getPrototype();
+        PlayerSession ps = PlayerSession.of(playerId,
+            prototype.newGame(answer == null ? -1 : DICT.indexOf(answer)));
+        store.join(room, ps);
+        return ps;
+    }
+
+    private static void guess(JournalSessionStore store, GameRoom room, PlayerSession ps, String word) {
+        store.guessed(room, ps, word, ps.getGameInstance().play(word));
+    }
+
+    /**
+     * @return game id of every record in the journal, in file order
+     */
+    private static List<UUID> games(Path file) throws IOException {
+        List<UUID> games = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            long offset = HEADER_BYTES;
+            while (true) {
+                record.clear();
+                int read;
+                do {
+                    read = in.read(record, offset + record.position());
+                } while (read >= 0 && record.hasRemaining());
+                if (record.hasRemaining() || record.get(0) == 0) {
+                    return games;
+                }
+                games.add(new UUID(record.getLong(8), record.getLong(16)));
+                offset += RECORD_BYTES;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.wordle.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.wordle.server.dto.ProgressEvent;
+
+/**
+ * Unit tests for {@link ProgressSender}: events delivered in order, a
+ * blocked subscriber neither delaying another nor growing without bound.
+ */
+class ProgressSenderTest {
+
+    private static final int CAPACITY = 8;
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Events should arrive in publish order, and the stream should be
+     * completed after the last of them when the game closes.
+     */
+    @Test
+    void deliversInOrderThenCompletes() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(null);
+        ProgressBroadcaster progress = new ProgressBroadcaster();
+        subscribe(progress, sink);
+        for (int turn = 1; turn <= 100; turn++) {
+            progress.publish(event(turn));
+            // stay within the queue: this test is about order, not overflow
+            sink.awaitTurn(turn);
+        }
+        progress.close();
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        List<Integer> turns = new ArrayList<>();
+        for (ProgressEvent e : sink.events) {
+            turns.add(e.turnsUsed());
+        }
+        assertEquals(100, turns.size());
+        for (int i = 0; i < turns.size(); i++) {
+            assertEquals(i + 1, turns.get(i));
+        }
+    }
+
+    /**
+     * With one subscriber stuck in a send, the other should still get
+     * every event at once, and the stuck one should be dropped once it is
+     * a queue behind instead of buffering every event.
+     */
+    @Test
+    void blockedSubscriberDoesNotDelayOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink(release);
+        RecordingSink healthy = new RecordingSink(null);
+        ProgressBroadcaster progress = new ProgressBroadcaster();
+        ProgressSender stuckSender = subscribe(progress, stuck);
+        ProgressSender healthySender = subscribe(progress, healthy);
+
+        int published = CAPACITY * 10;
+        for (int turn = 1; turn <= published; turn++) {
+            progress.publish(event(turn));
+            healthy.awaitTurn(turn);
+        }
+        assertEquals(published, healthy.events.size());
+        assertTrue(stuckSender.isDropped());
+        assertFalse(healthySender.isDropped());
+        assertEquals(1, progress.getSubscriberCount(), "the stuck subscriber is unsubscribed");
+
+        release.countDown();
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS), "the stuck stream is closed once its send returns");
+        assertTrue(stuck.events.size() <= CAPACITY + 1, "at most a queue and the send in flight");
+        assertEquals(1, healthy.completed.getCount(), "the healthy stream stays open");
+    }
+
+    private ProgressSender subscribe(ProgressBroadcaster progress, RecordingSink sink) {
+        ProgressSender sender = new ProgressSender(sink, pool, CAPACITY);
+        sender.setUnsubscribe(progress.subscribe(sender));
+        return sender;
+    }
+
+    private static ProgressEvent event(int turn) {
+        return new ProgressEvent("guess", PLAYER, turn, 1000, false, false, null);
+    }
+
+    /**
+     * records sent events; with a latch, the first send blocks until it opens
+     */
+    private static final class RecordingSink implements ProgressSender.Sink {
+        final BlockingQueue<ProgressEvent> events = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final BlockingQueue<Integer> turns = new LinkedBlockingQueue<>();
+
+        RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(ProgressEvent event) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+            turns.add(event.turnsUsed());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        void awaitTurn(int turn) throws InterruptedException {
+            Integer sent = turns.poll(5, TimeUnit.SECONDS);
+            assertNotNull(sent, "event " + turn + " not delivered");
+            assertEquals(turn, sent);
+        }
+    }
+}